@@ -6,16 +6,25 @@ import it.multicoredev.mbcore.bungeecord.util.chat.RawMessage;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.CommandSender;
 import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
 import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * BSD 3-Clause License
@@ -49,33 +58,97 @@ import java.util.stream.Collectors;
  */
 public class Chat {
     private final static Pattern hexColorPattern = Pattern.compile("#([A-Fa-f0-9]{6})");
-
-    private static String translateHex(String msg) {
-        Preconditions.checkNotNull(msg, "Cannot translate null text");
-
-        msg = msg.replace("&g", "#2196F3")
-                .replace("&h", "#2962FF");
-
-        Matcher matcher = hexColorPattern.matcher(msg);
-        while (matcher.find()) {
-            String match = matcher.group(0);
-            msg = msg.replace(match, ChatColor.of(match) + "");
-        }
-
-        return msg;
-    }
+    private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
+    private static final String G_HEX = "2196F3";
+    private static final String H_HEX = "2962FF";
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final int MAX_BUILDER_CAPACITY = 8192;
+    private static final int MAX_CACHED_LENGTH = 256;
+    private static final int MAX_CACHED = 256;
+    private static final Map<String, String> translated = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> seen = new ConcurrentHashMap<>();
 
     /**
      * Convert '&amp;' color codes to Minecraft understandable color codes.
+     * The &amp;g and &amp;h shortcuts and the #RRGGBB hex colors are converted too.
      *
      * @param msg The message to convert.
      * @return The converted message.
      */
     public static String getTranslated(String msg) {
         if (msg == null) return null;
-        msg = ChatColor.translateAlternateColorCodes('&', msg);
-        msg = translateHex(msg);
-        return msg;
+        if (msg.length() > MAX_CACHED_LENGTH) return translate(msg);
+
+        String cached = translated.get(msg);
+        if (cached != null) return cached;
+
+        String result = translate(msg);
+
+        // Only the messages seen at least twice are cached, so the one-off chat lines don't push the formats out.
+        if (seen.remove(msg) != null) {
+            if (translated.size() >= MAX_CACHED) translated.clear();
+            translated.put(msg, result);
+        } else {
+            if (seen.size() >= MAX_CACHED * 4) seen.clear();
+            seen.put(msg, Boolean.TRUE);
+        }
+
+        return result;
+    }
+
+    private static String translate(String msg) {
+        int length = msg.length();
+        int start = 0;
+        while (start < length && msg.charAt(start) != '&' && msg.charAt(start) != '#') start++;
+        if (start == length) return msg;
+
+        StringBuilder builder = BUILDER.get();
+        builder.setLength(0);
+        builder.append(msg, 0, start);
+
+        for (int i = start; i < length; i++) {
+            char c = msg.charAt(i);
+
+            if (c == '&' && i + 1 < length) {
+                char code = msg.charAt(i + 1);
+
+                if (COLOR_CODES.indexOf(code) != -1) {
+                    builder.append(ChatColor.COLOR_CHAR).append(Character.toLowerCase(code));
+                    i++;
+                    continue;
+                } else if (code == 'g' || code == 'h') {
+                    appendHex(builder, code == 'g' ? G_HEX : H_HEX, 0);
+                    i++;
+                    continue;
+                }
+            } else if (c == '#' && i + 6 < length && isHex(msg, i + 1)) {
+                appendHex(builder, msg, i + 1);
+                i += 6;
+                continue;
+            }
+
+            builder.append(c);
+        }
+
+        String result = builder.toString();
+        if (builder.capacity() > MAX_BUILDER_CAPACITY) BUILDER.set(new StringBuilder(256));
+        return result;
+    }
+
+    private static boolean isHex(String msg, int offset) {
+        for (int i = offset; i < offset + 6; i++) {
+            char c = msg.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+        }
+
+        return true;
+    }
+
+    private static void appendHex(StringBuilder builder, String hex, int offset) {
+        builder.append(ChatColor.COLOR_CHAR).append('x');
+        for (int i = offset; i < offset + 6; i++) {
+            builder.append(ChatColor.COLOR_CHAR).append(hex.charAt(i));
+        }
     }
 
     /**
@@ -114,9 +187,7 @@ public class Chat {
         for (int i = 0; i < msgs.length; i++) {
             String msg = msgs[i];
             if (msg == null) return null;
-            msg = ChatColor.translateAlternateColorCodes('&', msg);
-            msg = translateHex(msg);
-            msgs[i] = msg;
+            msgs[i] = getTranslated(msg);
         }
 
         return msgs;
@@ -158,9 +229,7 @@ public class Chat {
         List<String> out = new ArrayList<>();
         for (String msg : msgs) {
             if (msg == null) return null;
-            msg = ChatColor.translateAlternateColorCodes('&', msg);
-            msg = translateHex(msg);
-            out.add(msg);
+            out.add(getTranslated(msg));
         }
 
         return out;
@@ -682,12 +751,13 @@ public class Chat {
 
     /**
      * Send a raw message like a tellraw.
+     * The legacy colour codes in the texts are translated.
      *
      * @param jsonMsg  The message to be sent.
      * @param receiver The receiver of the message.
      */
     public static void sendRaw(String jsonMsg, ProxiedPlayer receiver) throws JsonSyntaxException {
-        sendRaw(new RawMessage(jsonMsg), receiver);
+        sendRaw(new RawMessage(jsonMsg, true), receiver);
     }
 
     /**
@@ -704,13 +774,14 @@ public class Chat {
 
     /**
      * Send a raw message like a tellraw.
+     * The legacy colour codes in the texts are translated.
      *
      * @param jsonMsgs The messages to be sent.
      * @param receiver The receiver of the message.
      */
     public static void sendRaw(String[] jsonMsgs, ProxiedPlayer receiver) throws JsonSyntaxException {
         for (String jsonMsg : jsonMsgs) {
-            sendRaw(new RawMessage(jsonMsg), receiver);
+            sendRaw(new RawMessage(jsonMsg, true), receiver);
         }
     }
 
@@ -733,9 +804,7 @@ public class Chat {
      * @param translate Convert the color codes.
      */
     public static void broadcast(String msg, boolean translate) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msg, player, translate);
-        }
+        broadcast(prepare(Collections.singletonList(msg), translate), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -755,9 +824,7 @@ public class Chat {
      * @param permissions Convert the color codes if the sender has this permissions.
      */
     public static void broadcast(String msg, ProxiedPlayer sender, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msg, player, sender, permissions);
-        }
+        broadcast(prepare(Collections.singletonList(msg), hasPermission(sender, permissions)), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -768,9 +835,8 @@ public class Chat {
      * @param permissions Convert the color codes if the sender has this permissions.
      */
     public static void broadcast(String msg, CommandSender sender, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msg, player, sender, permissions);
-        }
+        boolean translate = !(sender instanceof ProxiedPlayer) || hasPermission((ProxiedPlayer) sender, permissions);
+        broadcast(prepare(Collections.singletonList(msg), translate), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -781,14 +847,12 @@ public class Chat {
      * @param blacklist Players that will not receive the message.
      */
     public static void broadcast(String msg, boolean translate, ProxiedPlayer... blacklist) {
-        List<ProxiedPlayer> players = new ArrayList<>(ProxyServer.getInstance().getPlayers());
+        Set<UUID> blacklisted = new HashSet<>();
         for (ProxiedPlayer player : blacklist) {
-            players.removeIf(p -> p.getUniqueId().equals(player.getUniqueId()));
+            blacklisted.add(player.getUniqueId());
         }
 
-        for (ProxiedPlayer player : players) {
-            send(msg, player, translate);
-        }
+        broadcast(prepare(Collections.singletonList(msg), translate), ProxyServer.getInstance().getPlayers(), player -> !blacklisted.contains(player.getUniqueId()));
     }
 
     /**
@@ -809,9 +873,7 @@ public class Chat {
      * @param server    The server target of the broadcast.
      */
     public static void broadcast(String msg, boolean translate, ServerInfo server) {
-        for (ProxiedPlayer player : server.getPlayers()) {
-            send(msg, player, translate);
-        }
+        broadcast(prepare(Collections.singletonList(msg), translate), server.getPlayers(), null);
     }
 
     /**
@@ -832,11 +894,7 @@ public class Chat {
      * @param permissions Players with this perm will receive the message.
      */
     public static void broadcast(String msg, boolean translate, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            if (hasPermission(player, permissions)) {
-                send(msg, player, translate);
-            }
-        }
+        broadcast(prepare(Collections.singletonList(msg), translate), ProxyServer.getInstance().getPlayers(), player -> hasPermission(player, permissions));
     }
 
     /**
@@ -856,9 +914,7 @@ public class Chat {
      * @param translate Convert the color codes.
      */
     public static void broadcast(String[] msgs, boolean translate) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msgs, player, translate);
-        }
+        broadcast(prepare(Arrays.asList(msgs), translate), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -878,9 +934,7 @@ public class Chat {
      * @param permissions Convert the color codes if the sender has this permissions.
      */
     public static void broadcast(String[] msgs, ProxiedPlayer sender, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msgs, player, sender, permissions);
-        }
+        broadcast(prepare(Arrays.asList(msgs), hasPermission(sender, permissions)), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -891,9 +945,8 @@ public class Chat {
      * @param permissions Convert the color codes if the sender has this permissions.
      */
     public static void broadcast(String[] msgs, CommandSender sender, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msgs, player, sender, permissions);
-        }
+        boolean translate = !(sender instanceof ProxiedPlayer) || hasPermission((ProxiedPlayer) sender, permissions);
+        broadcast(prepare(Arrays.asList(msgs), translate), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -904,17 +957,12 @@ public class Chat {
      * @param blacklist Players that will not receive The messages.
      */
     public static void broadcast(String[] msgs, boolean translate, ProxiedPlayer... blacklist) {
-        List<ProxiedPlayer> players = ProxyServer.getInstance().getPlayers().stream().filter(p -> {
-            for (ProxiedPlayer player : blacklist) {
-                if (player.getUniqueId().equals(p.getUniqueId())) return false;
-            }
-
-            return true;
-        }).collect(Collectors.toList());
-
-        for (ProxiedPlayer player : players) {
-            send(msgs, player, translate);
+        Set<UUID> blacklisted = new HashSet<>();
+        for (ProxiedPlayer player : blacklist) {
+            blacklisted.add(player.getUniqueId());
         }
+
+        broadcast(prepare(Arrays.asList(msgs), translate), ProxyServer.getInstance().getPlayers(), player -> !blacklisted.contains(player.getUniqueId()));
     }
 
     /**
@@ -935,9 +983,7 @@ public class Chat {
      * @param server    The server target of the broadcast.
      */
     public static void broadcast(String[] msgs, boolean translate, ServerInfo server) {
-        for (ProxiedPlayer player : server.getPlayers()) {
-            send(msgs, player, translate);
-        }
+        broadcast(prepare(Arrays.asList(msgs), translate), server.getPlayers(), null);
     }
 
     /**
@@ -958,11 +1004,7 @@ public class Chat {
      * @param permissions Players with this perm will receive The messages.
      */
     public static void broadcast(String[] msgs, boolean translate, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            if (hasPermission(player, permissions)) {
-                send(msgs, player, translate);
-            }
-        }
+        broadcast(prepare(Arrays.asList(msgs), translate), ProxyServer.getInstance().getPlayers(), player -> hasPermission(player, permissions));
     }
 
     /**
@@ -982,9 +1024,7 @@ public class Chat {
      * @param translate Convert the color codes.
      */
     public static void broadcast(List<String> msgs, boolean translate) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msgs, player, translate);
-        }
+        broadcast(prepare(msgs, translate), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -1004,9 +1044,7 @@ public class Chat {
      * @param permissions Convert the color codes if the sender has this permissions.
      */
     public static void broadcast(List<String> msgs, ProxiedPlayer sender, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msgs, player, sender, permissions);
-        }
+        broadcast(prepare(msgs, hasPermission(sender, permissions)), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -1017,9 +1055,8 @@ public class Chat {
      * @param permissions Convert the color codes if the sender has this permissions.
      */
     public static void broadcast(List<String> msgs, CommandSender sender, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            send(msgs, player, sender, permissions);
-        }
+        boolean translate = !(sender instanceof ProxiedPlayer) || hasPermission((ProxiedPlayer) sender, permissions);
+        broadcast(prepare(msgs, translate), ProxyServer.getInstance().getPlayers(), null);
     }
 
     /**
@@ -1030,17 +1067,12 @@ public class Chat {
      * @param blacklist Players that will not receive The messages.
      */
     public static void broadcast(List<String> msgs, boolean translate, ProxiedPlayer... blacklist) {
-        List<ProxiedPlayer> players = ProxyServer.getInstance().getPlayers().stream().filter(p -> {
-            for (ProxiedPlayer player : blacklist) {
-                if (player.getUniqueId().equals(p.getUniqueId())) return false;
-            }
-
-            return true;
-        }).collect(Collectors.toList());
-
-        for (ProxiedPlayer player : players) {
-            send(msgs, player, translate);
+        Set<UUID> blacklisted = new HashSet<>();
+        for (ProxiedPlayer player : blacklist) {
+            blacklisted.add(player.getUniqueId());
         }
+
+        broadcast(prepare(msgs, translate), ProxyServer.getInstance().getPlayers(), player -> !blacklisted.contains(player.getUniqueId()));
     }
 
     /**
@@ -1061,9 +1093,7 @@ public class Chat {
      * @param server    The server target of the broadcast.
      */
     public static void broadcast(List<String> msgs, boolean translate, ServerInfo server) {
-        for (ProxiedPlayer player : server.getPlayers()) {
-            send(msgs, player, translate);
-        }
+        broadcast(prepare(msgs, translate), server.getPlayers(), null);
     }
 
     /**
@@ -1084,11 +1114,7 @@ public class Chat {
      * @param permissions Players with this perm will receive The messages.
      */
     public static void broadcast(List<String> msgs, boolean translate, String... permissions) {
-        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-            if (hasPermission(player, permissions)) {
-                send(msgs, player, translate);
-            }
-        }
+        broadcast(prepare(msgs, translate), ProxyServer.getInstance().getPlayers(), player -> hasPermission(player, permissions));
     }
 
     /**
@@ -1138,6 +1164,32 @@ public class Chat {
         ProxyServer.getInstance().getLogger().severe(getTranslated(msg));
     }
 
+    private static List<BaseComponent[]> prepare(Collection<String> msgs, boolean translate) {
+        List<BaseComponent[]> components = new ArrayList<>(msgs.size());
+
+        for (String msg : msgs) {
+            if (msg.startsWith("!j")) {
+                // Like send, the messages after a raw one are not sent.
+                components.add(new RawMessage(msg.substring(2), translate).toTextComponents());
+                break;
+            }
+
+            components.add(TextComponent.fromLegacyText(translate ? getTranslated(msg) : msg));
+        }
+
+        return components;
+    }
+
+    private static void broadcast(List<BaseComponent[]> components, Collection<ProxiedPlayer> players, Predicate<ProxiedPlayer> filter) {
+        for (ProxiedPlayer player : players) {
+            if (filter != null && !filter.test(player)) continue;
+
+            for (BaseComponent[] component : components) {
+                player.sendMessage(component);
+            }
+        }
+    }
+
     private static boolean hasPermission(ProxiedPlayer player, String... permissions) {
         for (String perm : permissions) {
             if (player.hasPermission(perm)) return true;
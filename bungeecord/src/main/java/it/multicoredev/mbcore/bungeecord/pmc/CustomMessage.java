@@ -1,7 +1,6 @@
 package it.multicoredev.mbcore.bungeecord.pmc;
 
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
+import it.multicoredev.mbcore.common.pmc.MessageWriter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
@@ -37,77 +36,15 @@ import java.util.Objects;
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 @SuppressWarnings("UnstableApiUsage")
-public class CustomMessage {
+public class CustomMessage extends MessageWriter {
     private final String channel;
-    private final ByteArrayDataOutput out;
 
     public CustomMessage(@NotNull String channel) {
         Objects.requireNonNull(channel);
         this.channel = channel.toLowerCase();
-        out = ByteStreams.newDataOutput();
     }
 
     public String getChannel() {
         return channel;
     }
-
-    public byte[] toByteArray() {
-        return out.toByteArray();
-    }
-
-    public void writeByte(byte b) {
-        out.write(b);
-    }
-
-    public void writeByte(int b) {
-        out.write(b);
-    }
-
-    public void writeByteArray(byte[] bytes) {
-        out.write(bytes, 0, bytes.length);
-    }
-
-    public void writeBoolean(boolean b) {
-        out.writeBoolean(b);
-    }
-
-    public void writeShort(short s) {
-        out.writeShort(s);
-    }
-
-    public void writeShort(int s) {
-        out.writeShort(s);
-    }
-
-    public void writeChar(char c) {
-        out.writeChar(c);
-    }
-
-    public void writeChar(int c) {
-        out.writeChar(c);
-    }
-
-    public void writeInt(int i) {
-        out.writeInt(i);
-    }
-
-    public void writeLong(long l) {
-        out.writeLong(l);
-    }
-
-    public void writeFloat(float f) {
-        out.writeFloat(f);
-    }
-
-    public void writeDouble(double d) {
-        out.writeDouble(d);
-    }
-
-    public void writeChars(String s) {
-        out.writeChars(s);
-    }
-
-    public void writeUTF(String s) {
-        out.writeUTF(s);
-    }
 }
@@ -0,0 +1,184 @@
+package it.multicoredev.mbcore.bungeecord.pmc;
+
+import it.multicoredev.mbcore.common.pmc.MessageChunker;
+import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.connection.Server;
+import net.md_5.bungee.api.event.ServerConnectedEvent;
+import net.md_5.bungee.api.event.ServerDisconnectEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.event.EventHandler;
+import net.md_5.bungee.event.EventPriority;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class MessageRouter implements Listener {
+    private final Map<String, ProxiedPlayer> carriers = new ConcurrentHashMap<>();
+
+    /**
+     * Router of the custom messages sent from the proxy to the backend servers.
+     * Messages are encoded once and sent through a cached carrier for every server. Servers without players
+     * can queue the messages until a player joins them.
+     * The router must be registered as a listener to keep the carriers updated.
+     */
+    public MessageRouter() {
+    }
+
+    /**
+     * Encode a custom message, splitting it in fragments if it's bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE}.
+     *
+     * @param message The {@link CustomMessage} to encode.
+     * @return The {@link Packet} ready to be routed to any number of servers.
+     */
+    public static Packet encode(@NotNull CustomMessage message) {
+        Objects.requireNonNull(message);
+
+        byte[] data = message.toByteArray();
+        if (!MessageChunker.needsChunking(data.length)) return new Packet(message.getChannel(), List.of(data));
+
+        return new Packet(MessageChunker.CHANNEL, MessageChunker.split(message.getChannel(), data));
+    }
+
+    /**
+     * Route a packet to a server.
+     *
+     * @param server The {@link ServerInfo} target of the packet.
+     * @param packet The {@link Packet} to route.
+     * @param queue  If the packet should be queued until a player joins when the server is empty.
+     * @return true if the packet has been sent or queued, false if the server is empty and the packet has been dropped.
+     */
+    public boolean route(@NotNull ServerInfo server, @NotNull Packet packet, boolean queue) {
+        Objects.requireNonNull(server);
+        Objects.requireNonNull(packet);
+
+        Server carrier = getCarrier(server);
+        if (carrier != null) {
+            for (byte[] data : packet.data) carrier.sendData(packet.channel, data);
+            return true;
+        }
+
+        if (!queue && server.getPlayers().isEmpty()) return false;
+
+        for (byte[] data : packet.data) server.sendData(packet.channel, data, queue);
+        return true;
+    }
+
+    /**
+     * Route a packet to many servers.
+     *
+     * @param servers The {@link ServerInfo}s target of the packet.
+     * @param packet  The {@link Packet} to route.
+     * @param queue   If the packet should be queued until a player joins when a server is empty.
+     * @return The number of servers the packet has been sent to or queued for.
+     */
+    public int route(@NotNull Collection<ServerInfo> servers, @NotNull Packet packet, boolean queue) {
+        Objects.requireNonNull(servers);
+
+        int routed = 0;
+        for (ServerInfo server : servers) {
+            if (route(server, packet, queue)) routed++;
+        }
+
+        return routed;
+    }
+
+    /**
+     * Route a custom message to many servers. The message is encoded only once.
+     *
+     * @param servers The {@link ServerInfo}s target of the message.
+     * @param message The {@link CustomMessage} to route.
+     * @param queue   If the message should be queued until a player joins when a server is empty.
+     * @return The number of servers the message has been sent to or queued for.
+     */
+    public int route(@NotNull Collection<ServerInfo> servers, @NotNull CustomMessage message, boolean queue) {
+        return route(servers, encode(message), queue);
+    }
+
+    @Nullable
+    private Server getCarrier(ServerInfo server) {
+        ProxiedPlayer player = carriers.get(server.getName());
+        if (player == null) return null;
+
+        Server current = player.getServer();
+        if (player.isConnected() && current != null && current.getInfo().getName().equals(server.getName())) return current;
+
+        carriers.remove(server.getName(), player);
+        for (ProxiedPlayer p : server.getPlayers()) {
+            carriers.putIfAbsent(server.getName(), p);
+            break;
+        }
+
+        return null;
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onServerConnected(ServerConnectedEvent event) {
+        carriers.putIfAbsent(event.getServer().getInfo().getName(), event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onServerDisconnect(ServerDisconnectEvent event) {
+        carriers.remove(event.getTarget().getName(), event.getPlayer());
+    }
+
+    /**
+     * A custom message encoded and ready to be sent, already split in fragments if needed.
+     */
+    public static final class Packet {
+        private final String channel;
+        private final List<byte[]> data;
+
+        private Packet(String channel, List<byte[]> data) {
+            this.channel = channel;
+            this.data = data;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public int getFragments() {
+            return data.size();
+        }
+
+        List<byte[]> getData() {
+            return data;
+        }
+    }
+}
@@ -4,9 +4,15 @@ import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteStreams;
 import it.multicoredev.mbcore.bungeecord.pmc.events.ConsoleCommandEvent;
 import it.multicoredev.mbcore.bungeecord.pmc.events.PlayerCommandEvent;
+import it.multicoredev.mbcore.common.pmc.ChunkAssembler;
+import it.multicoredev.mbcore.common.pmc.MessageChunker;
+import it.multicoredev.mbcore.common.pmc.MessageCodec;
+import it.multicoredev.mbcore.common.pmc.MessageReader;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.config.ServerInfo;
+import net.md_5.bungee.api.connection.Connection;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.connection.Server;
 import net.md_5.bungee.api.event.PluginMessageEvent;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.api.plugin.Plugin;
@@ -14,10 +20,12 @@ import net.md_5.bungee.event.EventHandler;
 import net.md_5.bungee.event.EventPriority;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * BSD 3-Clause License
@@ -52,6 +60,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @SuppressWarnings("UnstableApiUsage")
 public class PluginMessageChannel implements Listener {
     private final Plugin plugin;
+    private final ChunkAssembler assembler;
+    private final MessageRouter router = new MessageRouter();
+    private final Map<String, Map<String, BiConsumer<Connection, MessageReader>>> codecs = new ConcurrentHashMap<>();
     private final List<String> channels = new CopyOnWriteArrayList<>();
     private boolean defListener = false;
 
@@ -61,11 +72,37 @@ public class PluginMessageChannel implements Listener {
      * Keep in mind that you can't send plugin messages directly after a player joins (Eg. in PlayerJoinEvent).
      * You have to include a slight delay.
      *
-     * @param plugin The {@link Plugin} that is registering this MessageChannel.
+     * @param plugin    The {@link Plugin} that is registering this MessageChannel.
+     * @param assembler The {@link ChunkAssembler} used to reassemble messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE}.
      */
-    public PluginMessageChannel(Plugin plugin) {
+    public PluginMessageChannel(Plugin plugin, ChunkAssembler assembler) {
         this.plugin = plugin;
+        this.assembler = assembler;
         ProxyServer.getInstance().getPluginManager().registerListener(plugin, this);
+        ProxyServer.getInstance().getPluginManager().registerListener(plugin, router);
+
+        registerChannel(MessageChunker.CHANNEL);
+    }
+
+    /**
+     * Implementation of BungeeCord Custom Plugin Message API. An easy to use API to send and receive default and custom plugin
+     * messages.
+     * Keep in mind that you can't send plugin messages directly after a player joins (Eg. in PlayerJoinEvent).
+     * You have to include a slight delay.
+     *
+     * @param plugin The {@link Plugin} that is registering this MessageChannel.
+     */
+    public PluginMessageChannel(Plugin plugin) {
+        this(plugin, new ChunkAssembler());
+    }
+
+    /**
+     * Get the router used to send custom messages to the servers.
+     *
+     * @return The {@link MessageRouter} of this MessageChannel.
+     */
+    public MessageRouter getRouter() {
+        return router;
     }
 
     /**
@@ -109,7 +146,7 @@ public class PluginMessageChannel implements Listener {
 
     /**
      * Unregister all channels.
-     * Keep in mind that this will unregister also BungeeCord and mbcore:default channels.
+     * Keep in mind that this will unregister also mbcore:chunk and mbcore:default channels.
      */
     public void unregisterAllChannels() {
         for (String channel : channels) {
@@ -131,6 +168,88 @@ public class PluginMessageChannel implements Listener {
         defListener = false;
     }
 
+    /**
+     * Register a handler for the messages of a schema. Messages are dispatched on the subchannel named after the schema,
+     * their schema version is checked and then they are decoded with the codec and passed to the handler.
+     * Messages with a different schema version are dropped and logged.
+     * The channel must be registered with {@link #registerChannel(String)} to receive messages.
+     *
+     * @param channel The name of the channel.
+     * @param codec   The {@link MessageCodec} of the schema.
+     * @param handler The handler that receives the connection that delivered the message and the decoded message.
+     * @param <T>     The type of the decoded message.
+     */
+    public <T> void registerCodec(@NotNull String channel, @NotNull MessageCodec<T> codec, @NotNull BiConsumer<Connection, T> handler) {
+        Objects.requireNonNull(channel);
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(handler);
+
+        codecs.computeIfAbsent(channel.toLowerCase(), k -> new ConcurrentHashMap<>()).put(codec.getName(), (sender, in) -> {
+            int version = in.readUnsignedShort();
+            if (version != codec.getVersion()) {
+                plugin.getLogger().warning(String.format("Dropped %s message on channel %s: schema version %d, expected %d", codec.getName(), channel, version, codec.getVersion()));
+                return;
+            }
+
+            handler.accept(sender, codec.decode(in));
+        });
+    }
+
+    /**
+     * Unregister the handler of a schema.
+     *
+     * @param channel The name of the channel.
+     * @param codec   The {@link MessageCodec} of the schema.
+     */
+    public void unregisterCodec(@NotNull String channel, @NotNull MessageCodec<?> codec) {
+        Map<String, BiConsumer<Connection, MessageReader>> subchannels = codecs.get(channel.toLowerCase());
+        if (subchannels != null) subchannels.remove(codec.getName());
+    }
+
+    /**
+     * Listener for chunked Plugin Messages.
+     * Fragments are consumed here, once a message is complete it is fired again as a {@link PluginMessageEvent}
+     * on its original channel.
+     *
+     * @param event The {@link PluginMessageEvent}.
+     */
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onChunkReceived(PluginMessageEvent event) {
+        if (!event.getTag().equals(MessageChunker.CHANNEL)) return;
+        event.setCancelled(true);
+        // Only the servers can send fragments, a client could forge messages on any channel
+        if (!(event.getSender() instanceof Server)) return;
+
+        ChunkAssembler.Payload payload = assembler.accept(event.getData());
+        if (payload == null) return;
+
+        ProxyServer.getInstance().getPluginManager().callEvent(new PluginMessageEvent(event.getSender(), event.getReceiver(), payload.getTarget(), payload.getData()));
+    }
+
+    /**
+     * Listener for Plugin Messages encoded with a {@link MessageCodec}.
+     *
+     * @param event The {@link PluginMessageEvent}.
+     */
+    @EventHandler(priority = EventPriority.HIGH)
+    public void onCodecMessageReceived(PluginMessageEvent event) {
+        if (event.isCancelled() || !(event.getSender() instanceof Server)) return;
+
+        Map<String, BiConsumer<Connection, MessageReader>> subchannels = codecs.get(event.getTag().toLowerCase());
+        if (subchannels == null) return;
+
+        try {
+            MessageReader in = new MessageReader(event.getData());
+            BiConsumer<Connection, MessageReader> handler = subchannels.get(in.readUTF());
+            if (handler == null) return;
+
+            event.setCancelled(true);
+            handler.accept(event.getSender(), in);
+        } catch (IllegalStateException e) {
+            plugin.getLogger().warning(String.format("Malformed plugin message received on channel %s", event.getTag()));
+        }
+    }
+
     /**
      * Default listener for Plugin Messages.
      *
@@ -152,21 +271,8 @@ public class PluginMessageChannel implements Listener {
 
                     if (e.getServer().equals("BUNGEECORD")) {
                         ProxyServer.getInstance().getPluginManager().dispatchCommand(ProxyServer.getInstance().getConsole(), e.getCommand());
-                    } else if (e.getServer().equals("ALL")) {
-                        CustomMessage message = new CustomMessage("mbcore:default");
-                        message.writeUTF(e.getServer());
-                        message.writeUTF(e.getCommand());
-
-                        for (ServerInfo target : ProxyServer.getInstance().getServers().values())
-                            sendCustomMessage(target, message);
                     } else {
-                        ServerInfo target = ProxyServer.getInstance().getServerInfo(e.getServer());
-                        if (target == null) return;
-
-                        CustomMessage message = new CustomMessage("mbcore:default");
-                        message.writeUTF(e.getServer());
-                        message.writeUTF(e.getCommand());
-                        sendCustomMessage(target, message);
+                        consoleCommand(e.getServer(), e.getCommand());
                     }
                     break;
                 }
@@ -188,6 +294,8 @@ public class PluginMessageChannel implements Listener {
 
     /**
      * Send a custom message.
+     * Messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE} are split in fragments and reassembled by the
+     * receiving PluginMessageChannel.
      *
      * @param player  The {@link ProxiedPlayer} delivering the message.
      * @param message The {@link CustomMessage} to deliver.
@@ -196,7 +304,9 @@ public class PluginMessageChannel implements Listener {
         Objects.requireNonNull(player);
         Objects.requireNonNull(message);
 
-        player.getServer().getInfo().sendData(message.getChannel(), message.toByteArray());
+        MessageRouter.Packet packet = MessageRouter.encode(message);
+        Server server = player.getServer();
+        for (byte[] data : packet.getData()) server.sendData(packet.getChannel(), data);
     }
 
     /**
@@ -207,13 +317,52 @@ public class PluginMessageChannel implements Listener {
      * @return false if the target server doesn't have any player to deliver the message.
      */
     public boolean sendCustomMessage(@NotNull ServerInfo server, @NotNull CustomMessage message) {
-        if (server.getPlayers().isEmpty()) return false;
-        sendCustomMessage(new ArrayList<>(server.getPlayers()).get(0), message);
-        return true;
+        return sendCustomMessage(server, message, false);
+    }
+
+    /**
+     * Send a custom message.
+     *
+     * @param server  The {@link ServerInfo} target of the message.
+     * @param message The {@link CustomMessage} to deliver.
+     * @param queue   If the message should be queued until a player joins when the target server is empty.
+     * @return false if the target server doesn't have any player to deliver the message and the message was not queued.
+     */
+    public boolean sendCustomMessage(@NotNull ServerInfo server, @NotNull CustomMessage message, boolean queue) {
+        Objects.requireNonNull(message);
+        return router.route(server, MessageRouter.encode(message), queue);
+    }
+
+    /**
+     * Send a message encoded with a schema.
+     *
+     * @param server  The {@link ServerInfo} target of the message.
+     * @param channel The channel of the message.
+     * @param codec   The {@link MessageCodec} of the schema.
+     * @param message The message to encode and deliver.
+     * @param queue   If the message should be queued until a player joins when the target server is empty.
+     * @param <T>     The type of the message.
+     * @return false if the target server doesn't have any player to deliver the message and the message was not queued.
+     */
+    public <T> boolean sendMessage(@NotNull ServerInfo server, @NotNull String channel, @NotNull MessageCodec<T> codec, @NotNull T message, boolean queue) {
+        Objects.requireNonNull(codec);
+        return sendCustomMessage(server, codec.write(message, new CustomMessage(channel)), queue);
+    }
+
+    /**
+     * Send a custom message to every server. The message is encoded only once.
+     *
+     * @param message The {@link CustomMessage} to deliver.
+     * @param queue   If the message should be queued until a player joins when a server is empty.
+     * @return The number of servers the message has been sent to or queued for.
+     */
+    public int broadcastCustomMessage(@NotNull CustomMessage message, boolean queue) {
+        return router.route(ProxyServer.getInstance().getServers().values(), message, queue);
     }
 
     /**
      * Run a command on one or more servers.
+     * If a target server is empty the command is queued until a player joins it.
      *
      * @param server  The name of the server where the command should run, as defined in BungeeCord config.yml,
      *                ALL to run in every server.
@@ -226,14 +375,12 @@ public class PluginMessageChannel implements Listener {
         message.writeUTF(command);
 
         if (server.equals("ALL")) {
-            for (ServerInfo s : ProxyServer.getInstance().getServers().values()) {
-                sendCustomMessage(s, message);
-            }
+            broadcastCustomMessage(message, true);
         } else {
             ServerInfo s = ProxyServer.getInstance().getServerInfo(server);
             if (s == null) return;
 
-            sendCustomMessage(s, message);
+            sendCustomMessage(s, message, true);
         }
     }
 
@@ -1,12 +1,25 @@
 package it.multicoredev.mbcore.bungeecord.util;
 
+import de.myzelyam.api.vanish.BungeePlayerHideEvent;
+import de.myzelyam.api.vanish.BungeePlayerShowEvent;
 import de.myzelyam.api.vanish.BungeeVanishAPI;
+import it.multicoredev.mbcore.common.util.CompletionIndex;
+import it.multicoredev.mbcore.common.util.FuzzyIndex;
+import it.multicoredev.mbcore.common.util.PlayerIndex;
 import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
+import net.md_5.bungee.api.event.PostLoginEvent;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.event.EventHandler;
+import net.md_5.bungee.event.EventPriority;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * BSD 3-Clause License
@@ -39,6 +52,56 @@ import java.util.*;
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 public class TabCompleterUtil {
+    private static final long VANISH_RECHECK = 1000;
+    private static final IndexListener indexListener = new IndexListener();
+    private static Listener vanishListener = null;
+    private static volatile PlayerIndex players = null;
+
+    /**
+     * Enables the index of the online player names.
+     * The index is built once and then updated when a player joins or leaves the proxy,
+     * so {@link #getPlayers(String, boolean)} doesn't need to scan every player.
+     * The vanish status of the players is kept in the index and updated when PremiumVanish changes it,
+     * if PremiumVanish is installed. The status of a joining player is read again after the login and once more a
+     * second later, when PremiumVanish has restored it.
+     * WARNING! Remember to disable the index when the plugin is disabled or reloaded with {@link #disableIndex()}.
+     *
+     * @param plugin The {@link Plugin} used to listen to the player events.
+     * @throws IllegalStateException if the index is already enabled.
+     */
+    public static synchronized void enableIndex(@NotNull Plugin plugin) {
+        Objects.requireNonNull(plugin);
+        if (players != null) throw new IllegalStateException("Index already enabled. Disable the previous index first.");
+
+        List<String> names = new ArrayList<>();
+        List<String> vanished = new ArrayList<>();
+        for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
+            names.add(player.getName());
+            if (isVanished(player)) vanished.add(player.getName());
+        }
+
+        players = PlayerIndex.of(names, vanished);
+        ProxyServer.getInstance().getPluginManager().registerListener(plugin, indexListener);
+
+        // The listener is only loaded when PremiumVanish is installed, its methods need the PremiumVanish events
+        if (isVanishInstalled()) {
+            vanishListener = new VanishListener(plugin);
+            ProxyServer.getInstance().getPluginManager().registerListener(plugin, vanishListener);
+        }
+    }
+
+    /**
+     * Disables the index of the online player names.
+     * After this method the completions are searched scanning the online players.
+     */
+    public static synchronized void disableIndex() {
+        if (players == null) return;
+
+        ProxyServer.getInstance().getPluginManager().unregisterListener(indexListener);
+        if (vanishListener != null) ProxyServer.getInstance().getPluginManager().unregisterListener(vanishListener);
+        vanishListener = null;
+        players = null;
+    }
 
     /**
      * Get the list of player names starting with the searched characters.
@@ -49,17 +112,21 @@ public class TabCompleterUtil {
      * @return A list of player names.
      */
     public static Set<String> getPlayers(@Nullable String search, boolean showVanished) {
+        PlayerIndex index = players;
+        if (index != null) return new LinkedHashSet<>(index.complete(search, showVanished));
+
         Set<String> players = new HashSet<>();
 
         if (search == null || search.trim().isEmpty()) {
             for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-                if (isVanished(player) && !showVanished) continue;
+                if (!showVanished && isVanished(player)) continue;
                 players.add(player.getName());
             }
         } else {
             for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-                if (isVanished(player) && !showVanished) continue;
-                if (player.getName().toLowerCase().startsWith(search.toLowerCase())) players.add(player.getName());
+                if (!startsWith(player.getName(), search)) continue;
+                if (!showVanished && isVanished(player)) continue;
+                players.add(player.getName());
             }
         }
 
@@ -90,14 +157,15 @@ public class TabCompleterUtil {
 
         if (search == null || search.isEmpty()) {
             for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-                if (isVanished(player) && !showVanished) continue;
+                if (!showVanished && isVanished(player)) continue;
                 players.add(player.getDisplayName());
             }
         } else {
             for (ProxiedPlayer player : ProxyServer.getInstance().getPlayers()) {
-                if (isVanished(player) && !showVanished) continue;
-                if (player.getDisplayName().toLowerCase().startsWith(search.toLowerCase()))
-                    players.add(player.getDisplayName());
+                String displayName = player.getDisplayName();
+                if (!startsWith(displayName, search)) continue;
+                if (!showVanished && isVanished(player)) continue;
+                players.add(displayName);
             }
         }
 
@@ -129,7 +197,7 @@ public class TabCompleterUtil {
             servers.addAll(ProxyServer.getInstance().getServers().keySet());
         } else {
             for (String server : ProxyServer.getInstance().getServers().keySet()) {
-                if (server.toLowerCase().startsWith(search.toLowerCase())) servers.add(server);
+                if (startsWith(server, search)) servers.add(server);
             }
         }
 
@@ -150,8 +218,7 @@ public class TabCompleterUtil {
         Set<String> matches = new HashSet<>();
 
         for (String completion : completions) {
-            if (!completion.toLowerCase().startsWith(search.toLowerCase())) continue;
-            matches.add(completion);
+            if (startsWith(completion, search)) matches.add(completion);
         }
 
         return matches;
@@ -171,21 +238,135 @@ public class TabCompleterUtil {
         Set<String> matches = new HashSet<>();
 
         for (String completion : completions) {
-            if (!completion.toLowerCase().startsWith(search.toLowerCase())) continue;
-            matches.add(completion);
+            if (startsWith(completion, search)) matches.add(completion);
         }
 
         return matches;
     }
 
+    /**
+     * Get a list of completions starting with the searched characters.
+     * Use this method for the completions that don't change, building the {@link CompletionIndex} only once.
+     *
+     * @param search      The starting characters of the completions searched.
+     *                    If null or empty all completions will be returned.
+     * @param completions The {@link CompletionIndex} of the completions.
+     * @return A list of completions in alphabetical order.
+     */
+    public static Set<String> getCompletions(@Nullable String search, @NotNull CompletionIndex completions) {
+        Objects.requireNonNull(completions);
+        return new LinkedHashSet<>(completions.complete(search));
+    }
+
+    /**
+     * Get the completions best matching the searched characters, starting with them, containing them or
+     * containing them with some typos. Use this method for large sets of completions that don't change,
+     * building the {@link FuzzyIndex} only once.
+     *
+     * @param search      The characters searched.
+     *                    If null or empty the first completions in alphabetical order will be returned.
+     * @param completions The {@link FuzzyIndex} of the completions.
+     * @param limit       The maximum number of completions returned.
+     * @return A list of the best completions, the best one first.
+     */
+    public static Set<String> getFuzzyCompletions(@Nullable String search, @NotNull FuzzyIndex completions, int limit) {
+        Objects.requireNonNull(completions);
+        return new LinkedHashSet<>(completions.search(search, limit));
+    }
+
     /**
      * Check if a player is vanished using Premiumvanish.
      *
      * @param player The player to check.
-     * @return true if the player is vanished, false if he's not.
+     * @return true if the player is vanished, false if he's not or if Premiumvanish is not installed.
      */
     public static boolean isVanished(@NotNull ProxiedPlayer player) {
         Objects.requireNonNull(player);
-        return BungeeVanishAPI.isInvisible(player);
+        return isVanishInstalled() && BungeeVanishAPI.isInvisible(player);
+    }
+
+    private static boolean isVanishInstalled() {
+        return ProxyServer.getInstance().getPluginManager().getPlugin("PremiumVanish") != null;
+    }
+
+    /**
+     * Update the vanish status of a player in the index of the online player names.
+     * If the index is not enabled this method does nothing.
+     *
+     * @param player The player whose vanish status changed.
+     */
+    public static void updateVanished(@NotNull ProxiedPlayer player) {
+        Objects.requireNonNull(player);
+        updateVanished(player.getName(), isVanished(player));
+    }
+
+    private static boolean startsWith(String text, String search) {
+        return text.regionMatches(true, 0, search, 0, search.length());
+    }
+
+    private static synchronized void addPlayer(ProxiedPlayer player) {
+        if (players == null) return;
+        players = players.with(player.getName(), isVanished(player));
+    }
+
+    private static synchronized void removePlayer(ProxiedPlayer player) {
+        if (players == null) return;
+        players = players.without(player.getName());
+    }
+
+    private static synchronized void updateVanished(String name, boolean vanished) {
+        if (players == null) return;
+        players = players.vanished(name, vanished);
+    }
+
+    private static synchronized void refreshVanished(ProxiedPlayer player) {
+        if (players == null || !player.isConnected()) return;
+        players = players.vanished(player.getName(), isVanished(player));
+    }
+
+    // The listeners are public only because BungeeCord invokes the handlers reflectively without making them accessible
+    @ApiStatus.Internal
+    public static final class IndexListener implements Listener {
+
+        private IndexListener() {
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onPostLogin(PostLoginEvent event) {
+            addPlayer(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.HIGHEST)
+        public void onPlayerDisconnect(PlayerDisconnectEvent event) {
+            removePlayer(event.getPlayer());
+        }
+    }
+
+    @ApiStatus.Internal
+    public static final class VanishListener implements Listener {
+        private final Plugin plugin;
+
+        private VanishListener(Plugin plugin) {
+            this.plugin = plugin;
+        }
+
+        @EventHandler(priority = EventPriority.HIGHEST)
+        public void onPostLogin(PostLoginEvent event) {
+            // The player is indexed at the lowest priority, before PremiumVanish restores its vanish status.
+            // PremiumVanish can also load the status asynchronously, so it is read again once it had the time to.
+            ProxiedPlayer player = event.getPlayer();
+            refreshVanished(player);
+            ProxyServer.getInstance().getScheduler().schedule(plugin, () -> refreshVanished(player), VANISH_RECHECK, TimeUnit.MILLISECONDS);
+        }
+
+        @EventHandler(priority = EventPriority.HIGHEST)
+        public void onPlayerHide(BungeePlayerHideEvent event) {
+            if (!event.isCancelled()) updateVanished(event.getPlayer().getName(), true);
+        }
+
+        @EventHandler(priority = EventPriority.HIGHEST)
+        public void onPlayerShow(BungeePlayerShowEvent event) {
+            if (!event.isCancelled()) updateVanished(event.getPlayer().getName(), false);
+        }
     }
 }
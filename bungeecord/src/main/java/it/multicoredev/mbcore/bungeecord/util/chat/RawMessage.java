@@ -2,15 +2,19 @@ package it.multicoredev.mbcore.bungeecord.util.chat;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import com.google.gson.internal.bind.ArrayTypeAdapter;
+import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.HoverEvent;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -53,24 +57,38 @@ public class RawMessage {
             .registerTypeAdapter(HoverEvent.class, new TellRawDeserializer.HoverDeserializer())
             .registerTypeAdapter(HoverEvent.class, new TellRawSerializer.HoverSerializer())
             .create();
+    public static final int CACHE_SIZE = 256;
+    private static final Map<String, TextComponent[]> cache = lru();
+    private static final Map<String, TextComponent[]> legacyCache = lru();
 
-    private final String json;
-    private final List<TextComponent> components = new LinkedList<>();
+    private String json;
+    private final List<TextComponent> components = new ArrayList<>();
 
     /**
      * Representation of a raw message.
+     * The json is decoded once and cached, every message gets its own copy of the decoded components.
+     * The texts are kept verbatim.
      *
      * @param json Json representing the message using the Minecraft tellraw formatting.
+     * @throws JsonParseException if the json is malformed.
      */
     public RawMessage(@NotNull String json) {
+        this(json, false);
+    }
+
+    /**
+     * Representation of a raw message.
+     * The json is decoded once and cached, every message gets its own copy of the decoded components.
+     *
+     * @param json   Json representing the message using the Minecraft tellraw formatting.
+     * @param legacy True to translate the legacy colour codes in the texts, like in messages written in a config.
+     * @throws JsonParseException if the json is malformed.
+     */
+    public RawMessage(@NotNull String json, boolean legacy) {
         Objects.requireNonNull(json);
         this.json = json;
 
-        if (json.startsWith("[") && json.endsWith("]")) {
-            components.addAll(Arrays.asList(PARSER.fromJson(json, TextComponent[].class)));
-        } else {
-            components.add(PARSER.fromJson(json, TextComponent.class));
-        }
+        components.addAll(Arrays.asList(decode(json, legacy)));
     }
 
     /**
@@ -82,13 +100,7 @@ public class RawMessage {
         Objects.requireNonNull(components);
         this.components.addAll(Arrays.asList(components));
 
-        if (components.length == 0) {
-            json = "{}";
-        } else if (components.length == 1) {
-            json = PARSER.toJson(components[0]);
-        } else {
-            json = PARSER.toJson(components);
-        }
+        json = components.length == 0 ? "{}" : TellRawSerializer.toJson(components);
     }
 
     /**
@@ -100,6 +112,7 @@ public class RawMessage {
     public RawMessage append(@NotNull TextComponent component) {
         Objects.requireNonNull(component);
         components.add(component);
+        json = null;
         return this;
     }
 
@@ -115,12 +128,78 @@ public class RawMessage {
         return tComponents;
     }
 
+    /**
+     * Decode a json using the Minecraft tellraw formatting, or get its components from the cache if it was already decoded.
+     * The last {@link #CACHE_SIZE} decoded jsons are cached. The texts are kept verbatim.
+     *
+     * @param json Json representing the message using the Minecraft tellraw formatting.
+     * @return A new copy of the decoded components, that can be modified without affecting the cache.
+     * @throws JsonParseException if the json is malformed.
+     */
+    public static TextComponent[] decode(@NotNull String json) {
+        return decode(json, false);
+    }
+
+    /**
+     * Decode a json using the Minecraft tellraw formatting, or get its components from the cache if it was already decoded.
+     * The last {@link #CACHE_SIZE} decoded jsons of each kind are cached.
+     *
+     * @param json   Json representing the message using the Minecraft tellraw formatting.
+     * @param legacy True to translate the legacy colour codes in the texts, like in messages written in a config.
+     * @return A new copy of the decoded components, that can be modified without affecting the cache.
+     * @throws JsonParseException if the json is malformed.
+     */
+    public static TextComponent[] decode(@NotNull String json, boolean legacy) {
+        Objects.requireNonNull(json);
+        Map<String, TextComponent[]> cache = legacy ? legacyCache : RawMessage.cache;
+
+        TextComponent[] components;
+        synchronized (cache) {
+            components = cache.get(json);
+        }
+
+        if (components == null) {
+            components = TellRawDeserializer.read(json, legacy);
+
+            synchronized (cache) {
+                cache.put(json, components);
+            }
+        }
+
+        // The cached components are never handed out, a modified component would change every later decode
+        TextComponent[] copy = new TextComponent[components.length];
+        for (int i = 0; i < components.length; i++) copy[i] = components[i].duplicate();
+        return copy;
+    }
+
+    /**
+     * Remove all the decoded jsons from the cache.
+     */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+        synchronized (legacyCache) {
+            legacyCache.clear();
+        }
+    }
+
     /**
      * Get this message as a json string.
      *
      * @return The json string representing this message.
      */
     public String getJson() {
+        if (json == null) json = TellRawSerializer.toJson(components.toArray(new BaseComponent[0]));
         return json;
     }
+
+    private static Map<String, TextComponent[]> lru() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TextComponent[]> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+    }
 }
@@ -1,14 +1,33 @@
 package it.multicoredev.mbcore.bungeecord.util.chat;
 
 import com.google.gson.*;
+import com.google.gson.internal.Streams;
+import com.google.gson.internal.bind.JsonTreeReader;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import it.multicoredev.mbcore.bungeecord.Chat;
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.ItemTag;
+import net.md_5.bungee.api.chat.KeybindComponent;
+import net.md_5.bungee.api.chat.ScoreComponent;
+import net.md_5.bungee.api.chat.SelectorComponent;
 import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.chat.TranslatableComponent;
+import net.md_5.bungee.api.chat.hover.content.Content;
+import net.md_5.bungee.api.chat.hover.content.Entity;
+import net.md_5.bungee.api.chat.hover.content.Item;
+import net.md_5.bungee.api.chat.hover.content.Text;
+import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * BSD 3-Clause License
@@ -41,63 +60,426 @@ import java.lang.reflect.Type;
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 public class TellRawDeserializer implements JsonDeserializer<TextComponent> {
+    private final boolean legacy;
+
+    public TellRawDeserializer() {
+        this(false);
+    }
+
+    /**
+     * Gson deserializer of tellraw components.
+     *
+     * @param legacy True to translate the legacy colour codes in the texts, false to keep them verbatim.
+     */
+    public TellRawDeserializer(boolean legacy) {
+        this.legacy = legacy;
+    }
 
     public TextComponent deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) throws JsonParseException {
-        if (!json.isJsonObject()) return new TextComponent(json.getAsJsonPrimitive().getAsString());
-
-        JsonObject obj = json.getAsJsonObject();
-
-        TextComponent component = new TextComponent(TextComponent.fromLegacyText(Chat.getTranslated(obj.get("text").getAsString())));
-        if (obj.has("color")) component.setColor(ChatColor.of(obj.get("color").getAsString()));
-        if (obj.has("font")) component.setFont(obj.get("font").getAsString());
-        if (obj.has("bold")) component.setBold(obj.get("bold").getAsBoolean());
-        if (obj.has("italic")) component.setItalic(obj.get("italic").getAsBoolean());
-        if (obj.has("underlined")) component.setUnderlined(obj.get("underlined").getAsBoolean());
-        if (obj.has("strikethrough")) component.setStrikethrough(obj.get("strikethrough").getAsBoolean());
-        if (obj.has("obfuscated")) component.setObfuscated(obj.get("obfuscated").getAsBoolean());
-        if (obj.has("insertion")) component.setInsertion(obj.get("insertion").getAsString());
-
-        if (obj.has("clickEvent")) {
-            JsonObject event = obj.getAsJsonObject("clickEvent");
-            component.setClickEvent(ctx.deserialize(event, ClickEvent.class));
+        try {
+            return read(new JsonTreeReader(json), legacy);
+        } catch (IOException | IllegalStateException | IllegalArgumentException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /**
+     * Decode a tellraw json into its components, streaming over the json without building a tree.
+     * A json array is decoded into one component for each element, anything else into a single component.
+     * The texts are kept verbatim.
+     *
+     * @param json The json using the Minecraft tellraw formatting.
+     * @return The decoded components.
+     * @throws JsonParseException if the json is malformed.
+     */
+    public static TextComponent[] read(@NotNull String json) throws JsonParseException {
+        return read(json, false);
+    }
+
+    /**
+     * Decode a tellraw json into its components, streaming over the json without building a tree.
+     * A json array is decoded into one component for each element, anything else into a single component.
+     *
+     * @param json   The json using the Minecraft tellraw formatting.
+     * @param legacy True to translate the legacy colour codes in the texts, like in messages written in a config.
+     * @return The decoded components.
+     * @throws JsonParseException if the json is malformed.
+     */
+    public static TextComponent[] read(@NotNull String json, boolean legacy) throws JsonParseException {
+        Objects.requireNonNull(json);
+
+        try {
+            JsonReader in = new JsonReader(new StringReader(json));
+            in.setLenient(true);
+
+            TextComponent[] components;
+            if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                List<TextComponent> list = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) list.add(read(in, legacy));
+                in.endArray();
+                components = list.toArray(new TextComponent[0]);
+            } else {
+                components = new TextComponent[]{read(in, legacy)};
+            }
+
+            if (in.peek() != JsonToken.END_DOCUMENT) throw new JsonParseException("Unexpected content after the tellraw json");
+            return components;
+        } catch (IOException | IllegalStateException | IllegalArgumentException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    /**
+     * Decode the next tellraw component from a {@link JsonReader}, keeping the texts verbatim.
+     * Strings, numbers and booleans are decoded as plain texts, arrays as a component with the elements as extras.
+     *
+     * @param in The reader positioned on the component.
+     * @return The decoded component.
+     * @throws IOException if the reader fails or the json is malformed.
+     */
+    public static TextComponent read(@NotNull JsonReader in) throws IOException {
+        return read(in, false);
+    }
+
+    /**
+     * Decode the next tellraw component from a {@link JsonReader}.
+     * Strings, numbers and booleans are decoded as plain texts, arrays as a component with the elements as extras.
+     * Translatable, keybind, score and selector components are returned as the only extra of an empty text.
+     *
+     * @param in     The reader positioned on the component.
+     * @param legacy True to translate the legacy colour codes in the texts, false to keep them verbatim.
+     * @return The decoded component.
+     * @throws IOException if the reader fails or the json is malformed.
+     */
+    public static TextComponent read(@NotNull JsonReader in, boolean legacy) throws IOException {
+        BaseComponent component = readComponent(in, legacy);
+        return component instanceof TextComponent ? (TextComponent) component : new TextComponent(component);
+    }
+
+    private static BaseComponent readComponent(JsonReader in, boolean legacy) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT:
+                break;
+            case BEGIN_ARRAY: {
+                TextComponent component = new TextComponent("");
+                in.beginArray();
+                while (in.hasNext()) component.addExtra(readComponent(in, legacy));
+                in.endArray();
+                return component;
+            }
+            case BOOLEAN:
+                return new TextComponent(String.valueOf(in.nextBoolean()));
+            default:
+                return text(in.nextString(), legacy);
         }
 
-        if (obj.has("hoverEvent")) {
-            JsonObject event = obj.getAsJsonObject("hoverEvent");
-            component.setHoverEvent(ctx.deserialize(event, HoverEvent.class));
+        String text = null;
+        String translate = null;
+        String fallback = null;
+        List<BaseComponent> with = null;
+        String keybind = null;
+        String selector = null;
+        String scoreName = null;
+        String scoreObjective = null;
+        String scoreValue = null;
+        ChatColor color = null;
+        String font = null;
+        Boolean bold = null;
+        Boolean italic = null;
+        Boolean underlined = null;
+        Boolean strikethrough = null;
+        Boolean obfuscated = null;
+        String insertion = null;
+        ClickEvent clickEvent = null;
+        HoverEvent hoverEvent = null;
+        List<BaseComponent> extra = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "text":
+                    text = in.nextString();
+                    break;
+                case "translate":
+                    translate = in.nextString();
+                    break;
+                case "fallback":
+                    fallback = in.nextString();
+                    break;
+                case "with":
+                    with = readArray(in, legacy);
+                    break;
+                case "keybind":
+                    keybind = in.nextString();
+                    break;
+                case "selector":
+                    selector = in.nextString();
+                    break;
+                case "score":
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        switch (in.nextName()) {
+                            case "name":
+                                scoreName = in.nextString();
+                                break;
+                            case "objective":
+                                scoreObjective = in.nextString();
+                                break;
+                            case "value":
+                                scoreValue = in.nextString();
+                                break;
+                            default:
+                                in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    break;
+                case "color":
+                    color = ChatColor.of(in.nextString());
+                    break;
+                case "font":
+                    font = in.nextString();
+                    break;
+                case "bold":
+                    bold = in.nextBoolean();
+                    break;
+                case "italic":
+                    italic = in.nextBoolean();
+                    break;
+                case "underlined":
+                    underlined = in.nextBoolean();
+                    break;
+                case "strikethrough":
+                    strikethrough = in.nextBoolean();
+                    break;
+                case "obfuscated":
+                    obfuscated = in.nextBoolean();
+                    break;
+                case "insertion":
+                    insertion = in.nextString();
+                    break;
+                case "clickEvent":
+                    clickEvent = readClick(in);
+                    break;
+                case "hoverEvent":
+                    hoverEvent = readHover(in, legacy);
+                    break;
+                case "extra":
+                    extra = readArray(in, legacy);
+                    break;
+                default:
+                    in.skipValue();
+            }
         }
+        in.endObject();
 
-        if (obj.has("extra")) {
-            JsonArray extras = obj.getAsJsonArray("extra");
-            extras.forEach(extra -> component.addExtra((BaseComponent) ctx.deserialize(extra, TextComponent.class)));
+        // The content type is picked with the same precedence as the client, a text wins over everything else.
+        BaseComponent component;
+        if (text == null && translate != null) {
+            TranslatableComponent translatable = new TranslatableComponent();
+            translatable.setTranslate(translate);
+            if (fallback != null) translatable.setFallback(fallback);
+            if (with != null) translatable.setWith(with);
+            component = translatable;
+        } else if (text == null && scoreName != null) {
+            ScoreComponent score = new ScoreComponent(scoreName, scoreObjective != null ? scoreObjective : "");
+            if (scoreValue != null) score.setValue(scoreValue);
+            component = score;
+        } else if (text == null && selector != null) {
+            component = new SelectorComponent(selector);
+        } else if (text == null && keybind != null) {
+            component = new KeybindComponent(keybind);
+        } else {
+            component = text(text != null ? text : "", legacy);
         }
 
+        if (color != null) component.setColor(color);
+        if (font != null) component.setFont(font);
+        if (bold != null) component.setBold(bold);
+        if (italic != null) component.setItalic(italic);
+        if (underlined != null) component.setUnderlined(underlined);
+        if (strikethrough != null) component.setStrikethrough(strikethrough);
+        if (obfuscated != null) component.setObfuscated(obfuscated);
+        if (insertion != null) component.setInsertion(insertion);
+        if (clickEvent != null) component.setClickEvent(clickEvent);
+        if (hoverEvent != null) component.setHoverEvent(hoverEvent);
+        if (extra != null) extra.forEach(component::addExtra);
+
         return component;
     }
 
-    public static class ClickDeserializer implements JsonDeserializer<ClickEvent> {
+    private static List<BaseComponent> readArray(JsonReader in, boolean legacy) throws IOException {
+        List<BaseComponent> components = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) components.add(readComponent(in, legacy));
+        in.endArray();
+        return components;
+    }
 
-        public ClickEvent deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
-            JsonPrimitive action = obj.getAsJsonPrimitive("action");
-            JsonPrimitive value = obj.getAsJsonPrimitive("value");
+    private static TextComponent text(String text, boolean legacy) {
+        if (!legacy) return new TextComponent(text);
+
+        BaseComponent[] parts = TextComponent.fromLegacyText(Chat.getTranslated(text));
+
+        // A text without legacy formatting is kept as the text of the component instead of becoming a single extra.
+        if (parts.length == 1 && parts[0] instanceof TextComponent && isPlain(parts[0])) {
+            return new TextComponent(((TextComponent) parts[0]).getText());
+        }
+        return new TextComponent(parts);
+    }
 
-            return new ClickEvent(ClickEvent.Action.valueOf(action.getAsString().toUpperCase()), value.getAsString());
+    private static ClickEvent readClick(JsonReader in) throws IOException {
+        String action = null;
+        String value = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "action":
+                    action = in.nextString();
+                    break;
+                case "value":
+                    value = in.nextString();
+                    break;
+                default:
+                    in.skipValue();
+            }
         }
+        in.endObject();
+
+        if (action == null || value == null) throw new JsonParseException("Click event without action or value");
+        return new ClickEvent(ClickEvent.Action.valueOf(action.toUpperCase()), value);
     }
 
     @SuppressWarnings("deprecation")
-    public static class HoverDeserializer implements JsonDeserializer<HoverEvent> {
+    private static HoverEvent readHover(JsonReader in, boolean legacy) throws IOException {
+        HoverEvent.Action action = null;
+        Content content = null;
+        JsonElement pending = null;
+        BaseComponent[] value = null;
 
-        public HoverEvent deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
-            JsonPrimitive action = obj.getAsJsonPrimitive("action");
-            TextComponent value = ctx.deserialize(obj.getAsJsonObject("contents"), TextComponent.class);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "action":
+                    action = HoverEvent.Action.valueOf(in.nextString().toUpperCase());
+                    break;
+                case "contents":
+                    // The action is usually written first, otherwise the contents are kept until it is known.
+                    if (action != null) content = readContent(in, action, legacy);
+                    else pending = Streams.parse(in);
+                    break;
+                case "value":
+                    value = hoverText(read(in, legacy));
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (action == null) throw new JsonParseException("Hover event without action");
+        if (pending != null) content = readContent(new JsonTreeReader(pending), action, legacy);
+
+        if (content instanceof Text) return new HoverEvent(action, (BaseComponent[]) ((Text) content).getValue());
+        if (content != null) return new HoverEvent(action, content);
+        if (value != null) return new HoverEvent(action, value);
+        throw new JsonParseException("Hover event without contents");
+    }
+
+    private static Content readContent(JsonReader in, HoverEvent.Action action, boolean legacy) throws IOException {
+        if (action == HoverEvent.Action.SHOW_ITEM && in.peek() == JsonToken.BEGIN_OBJECT) {
+            String id = null;
+            int count = -1;
+            ItemTag tag = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id":
+                        id = in.nextString();
+                        break;
+                    case "count":
+                        count = in.nextInt();
+                        break;
+                    case "tag":
+                        tag = ItemTag.ofNbt(in.nextString());
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new Item(id, count, tag);
+        } else if (action == HoverEvent.Action.SHOW_ENTITY && in.peek() == JsonToken.BEGIN_OBJECT) {
+            String entityType = null;
+            String id = null;
+            BaseComponent name = null;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "type":
+                        entityType = in.nextString();
+                        break;
+                    case "id":
+                        id = in.nextString();
+                        break;
+                    case "name":
+                        name = readComponent(in, legacy);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+
+            return new Entity(entityType, id, name);
+        }
 
-            BaseComponent[] extras = new BaseComponent[value.getExtra().size()];
-            value.getExtra().toArray(extras);
+        return new Text(hoverText(read(in, legacy)));
+    }
+
+    private static BaseComponent[] hoverText(TextComponent contents) {
+        if (contents.getExtra() != null && contents.getText().isEmpty()) return contents.getExtra().toArray(new BaseComponent[0]);
+        return new BaseComponent[]{contents};
+    }
+
+    private static boolean isPlain(BaseComponent component) {
+        return component.getColorRaw() == null
+                && component.getFontRaw() == null
+                && component.isBoldRaw() == null
+                && component.isItalicRaw() == null
+                && component.isUnderlinedRaw() == null
+                && component.isStrikethroughRaw() == null
+                && component.isObfuscatedRaw() == null
+                && component.getInsertion() == null
+                && component.getClickEvent() == null
+                && component.getHoverEvent() == null
+                && component.getExtra() == null;
+    }
+
+    public static class ClickDeserializer implements JsonDeserializer<ClickEvent> {
 
-            return new HoverEvent(HoverEvent.Action.valueOf(action.getAsString().toUpperCase()), extras);
+        public ClickEvent deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) throws JsonParseException {
+            try {
+                return readClick(new JsonTreeReader(json));
+            } catch (IOException | IllegalStateException | IllegalArgumentException e) {
+                throw new JsonParseException(e);
+            }
+        }
+    }
+
+    public static class HoverDeserializer implements JsonDeserializer<HoverEvent> {
+
+        public HoverEvent deserialize(JsonElement json, Type type, JsonDeserializationContext ctx) throws JsonParseException {
+            try {
+                return readHover(new JsonTreeReader(json), false);
+            } catch (IOException | IllegalStateException | IllegalArgumentException e) {
+                throw new JsonParseException(e);
+            }
         }
     }
 }
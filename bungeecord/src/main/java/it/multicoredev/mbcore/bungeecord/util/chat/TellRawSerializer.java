@@ -1,14 +1,31 @@
 package it.multicoredev.mbcore.bungeecord.util.chat;
 
 import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.internal.Streams;
+import com.google.gson.internal.bind.JsonTreeWriter;
+import com.google.gson.stream.JsonWriter;
+import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.HoverEvent;
+import net.md_5.bungee.api.chat.KeybindComponent;
+import net.md_5.bungee.api.chat.ScoreComponent;
+import net.md_5.bungee.api.chat.SelectorComponent;
 import net.md_5.bungee.api.chat.TextComponent;
+import net.md_5.bungee.api.chat.TranslatableComponent;
+import net.md_5.bungee.api.chat.hover.content.Content;
+import net.md_5.bungee.api.chat.hover.content.Entity;
+import net.md_5.bungee.api.chat.hover.content.Item;
+import net.md_5.bungee.api.chat.hover.content.Text;
+import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * BSD 3-Clause License
@@ -43,39 +60,207 @@ import java.lang.reflect.Type;
 public class TellRawSerializer implements JsonSerializer<TextComponent> {
 
     public JsonElement serialize(TextComponent component, Type type, JsonSerializationContext ctx) {
-        JsonObject json = new JsonObject();
-        json.addProperty("text", component.getText());
-        json.addProperty("color", component.getColor().getName());
-        json.addProperty("font", component.getFont());
-        json.addProperty("bold", component.isBold());
-        json.addProperty("italic", component.isItalic());
-        json.addProperty("underlined", component.isUnderlined());
-        json.addProperty("strikethrough", component.isStrikethrough());
-        json.addProperty("obfuscated", component.isObfuscated());
-        json.addProperty("insertion", component.getInsertion());
-
-
-        return json;
+        try {
+            JsonTreeWriter out = new JsonTreeWriter();
+            write(out, component);
+            return out.get();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Serialize components to a json using the Minecraft tellraw formatting.
+     * A single component is serialized as an object, more components as an array.
+     *
+     * @param components The components to serialize.
+     * @return The json representing the components.
+     */
+    public static String toJson(@NotNull BaseComponent... components) {
+        StringWriter writer = new StringWriter();
+
+        try {
+            write(writer, components);
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Serialize components to a json using the Minecraft tellraw formatting, writing it straight to the output.
+     * A single component is serialized as an object, more components as an array.
+     *
+     * @param out        The output to write the json to.
+     * @param components The components to serialize.
+     * @throws IOException if the output fails.
+     */
+    public static void write(@NotNull Appendable out, @NotNull BaseComponent... components) throws IOException {
+        Objects.requireNonNull(out);
+        Objects.requireNonNull(components);
+
+        JsonWriter writer = new JsonWriter(Streams.writerForAppendable(out));
+        if (components.length == 1) {
+            write(writer, components[0]);
+        } else {
+            writer.beginArray();
+            for (BaseComponent component : components) write(writer, component);
+            writer.endArray();
+        }
+        writer.flush();
+    }
+
+    /**
+     * Serialize a component to a {@link JsonWriter} using the Minecraft tellraw formatting.
+     * Only the style fields set on the component are written, the inherited and default ones are omitted.
+     * Translatable, keybind, score and selector components are written with their own fields, any other component as its legacy text.
+     *
+     * @param out       The writer to write the component to.
+     * @param component The component to serialize.
+     * @throws IOException if the writer fails.
+     */
+    public static void write(@NotNull JsonWriter out, @NotNull BaseComponent component) throws IOException {
+        out.beginObject();
+        if (component instanceof TextComponent) {
+            out.name("text").value(((TextComponent) component).getText());
+        } else if (component instanceof TranslatableComponent) {
+            TranslatableComponent translatable = (TranslatableComponent) component;
+            out.name("translate").value(translatable.getTranslate());
+            if (translatable.getFallback() != null) out.name("fallback").value(translatable.getFallback());
+
+            List<BaseComponent> with = translatable.getWith();
+            if (with != null && !with.isEmpty()) {
+                out.name("with").beginArray();
+                for (BaseComponent argument : with) write(out, argument);
+                out.endArray();
+            }
+        } else if (component instanceof KeybindComponent) {
+            out.name("keybind").value(((KeybindComponent) component).getKeybind());
+        } else if (component instanceof ScoreComponent) {
+            ScoreComponent score = (ScoreComponent) component;
+            out.name("score").beginObject();
+            out.name("name").value(score.getName());
+            out.name("objective").value(score.getObjective());
+            if (score.getValue() != null && !score.getValue().isEmpty()) out.name("value").value(score.getValue());
+            out.endObject();
+        } else if (component instanceof SelectorComponent) {
+            out.name("selector").value(((SelectorComponent) component).getSelector());
+        } else {
+            // Unknown component types have no tellraw fields, their text is kept but the style would be applied twice.
+            out.name("text").value(component.toLegacyText());
+            out.endObject();
+            return;
+        }
+
+        if (component.getColorRaw() != null) out.name("color").value(component.getColorRaw().getName());
+        if (component.getFontRaw() != null) out.name("font").value(component.getFontRaw());
+        if (component.isBoldRaw() != null) out.name("bold").value(component.isBoldRaw());
+        if (component.isItalicRaw() != null) out.name("italic").value(component.isItalicRaw());
+        if (component.isUnderlinedRaw() != null) out.name("underlined").value(component.isUnderlinedRaw());
+        if (component.isStrikethroughRaw() != null) out.name("strikethrough").value(component.isStrikethroughRaw());
+        if (component.isObfuscatedRaw() != null) out.name("obfuscated").value(component.isObfuscatedRaw());
+        if (component.getInsertion() != null) out.name("insertion").value(component.getInsertion());
+
+        if (component.getClickEvent() != null) {
+            out.name("clickEvent");
+            writeClick(out, component.getClickEvent());
+        }
+
+        if (component.getHoverEvent() != null) {
+            out.name("hoverEvent");
+            writeHover(out, component.getHoverEvent());
+        }
+
+        List<BaseComponent> extra = component.getExtra();
+        if (extra != null && !extra.isEmpty()) {
+            out.name("extra").beginArray();
+            for (BaseComponent child : extra) write(out, child);
+            out.endArray();
+        }
+
+        out.endObject();
+    }
+
+    private static void writeClick(JsonWriter out, ClickEvent event) throws IOException {
+        out.beginObject();
+        out.name("action").value(event.getAction().name().toLowerCase());
+        out.name("value").value(event.getValue());
+        out.endObject();
+    }
+
+    private static void writeHover(JsonWriter out, HoverEvent event) throws IOException {
+        out.beginObject();
+        out.name("action").value(event.getAction().name().toLowerCase());
+
+        List<Content> contents = event.getContents();
+        if (!contents.isEmpty()) {
+            out.name("contents");
+
+            Content content = contents.get(0);
+            if (content instanceof Item) {
+                Item item = (Item) content;
+                out.beginObject();
+                if (item.getId() != null) out.name("id").value(item.getId());
+                if (item.getCount() != -1) out.name("count").value(item.getCount());
+                if (item.getTag() != null) out.name("tag").value(item.getTag().getNbt());
+                out.endObject();
+            } else if (content instanceof Entity) {
+                Entity entity = (Entity) content;
+                out.beginObject();
+                if (entity.getType() != null) out.name("type").value(entity.getType());
+                if (entity.getId() != null) out.name("id").value(entity.getId());
+                if (entity.getName() != null) {
+                    out.name("name");
+                    write(out, entity.getName());
+                }
+                out.endObject();
+            } else {
+                // The texts are wrapped in an empty component, the deserializer unwraps its extras.
+                out.beginObject();
+                out.name("text").value("");
+                out.name("extra").beginArray();
+                for (Content text : contents) {
+                    if (!(text instanceof Text)) continue;
+
+                    Object value = ((Text) text).getValue();
+                    if (value instanceof BaseComponent[]) {
+                        for (BaseComponent component : (BaseComponent[]) value) write(out, component);
+                    } else {
+                        write(out, new TextComponent(String.valueOf(value)));
+                    }
+                }
+                out.endArray();
+                out.endObject();
+            }
+        }
+
+        out.endObject();
     }
 
     public static class ClickSerializer implements JsonSerializer<ClickEvent> {
 
         public JsonElement serialize(ClickEvent event, Type type, JsonSerializationContext ctx) {
-            JsonObject json = new JsonObject();
-            json.addProperty("action", event.getAction().name().toLowerCase());
-            json.addProperty("value", event.getValue());
-
-            return json;
+            try {
+                JsonTreeWriter out = new JsonTreeWriter();
+                writeClick(out, event);
+                return out.get();
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
         }
     }
 
     public static class HoverSerializer implements JsonSerializer<HoverEvent> {
 
         public JsonElement serialize(HoverEvent event, Type type, JsonSerializationContext ctx) {
-            JsonObject json = new JsonObject();
-            json.addProperty("action", event.getAction().name().toLowerCase());
-
-            return json;
+            try {
+                JsonTreeWriter out = new JsonTreeWriter();
+                writeHover(out, event);
+                return out.get();
+            } catch (IOException e) {
+                throw new JsonIOException(e);
+            }
         }
     }
 }
@@ -0,0 +1,232 @@
+package it.multicoredev.mbcore.common.pmc;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class ChunkAssembler {
+    public static final int DEFAULT_MAX_PENDING = 64;
+    public static final int DEFAULT_MAX_PAYLOAD_SIZE = 8 * 1024 * 1024;
+    public static final long DEFAULT_TIMEOUT = 30000;
+
+    private final int maxPending;
+    private final int maxPayloadSize;
+    private final long timeout;
+    private final Map<Long, Transfer> transfers = new LinkedHashMap<>();
+
+    /**
+     * Reassembles the fragments produced by {@link MessageChunker#split(String, byte[])}.
+     * Incomplete transfers are kept in memory until they complete, expire or are evicted to make room for newer ones.
+     *
+     * @param maxPending     The maximum number of incomplete transfers kept at the same time.
+     * @param maxPayloadSize The maximum size in bytes of a reassembled payload. Bigger transfers are rejected.
+     * @param timeout        The time in milliseconds after which an incomplete transfer is discarded.
+     */
+    public ChunkAssembler(int maxPending, int maxPayloadSize, long timeout) {
+        if (maxPending <= 0) throw new IllegalArgumentException("Max pending transfers must be greater than 0");
+        if (maxPayloadSize <= 0) throw new IllegalArgumentException("Max payload size must be greater than 0");
+        if (timeout <= 0) throw new IllegalArgumentException("Timeout must be greater than 0");
+
+        this.maxPending = maxPending;
+        this.maxPayloadSize = maxPayloadSize;
+        this.timeout = timeout;
+    }
+
+    public ChunkAssembler() {
+        this(DEFAULT_MAX_PENDING, DEFAULT_MAX_PAYLOAD_SIZE, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Accept a fragment.
+     *
+     * @param fragment The fragment received.
+     * @return The reassembled {@link Payload} if this was the last missing fragment of its transfer, null otherwise.
+     * Malformed, oversized or inconsistent fragments are discarded together with their transfer.
+     */
+    @Nullable
+    public synchronized Payload accept(@NotNull byte[] fragment) {
+        Objects.requireNonNull(fragment);
+
+        long now = System.currentTimeMillis();
+        expire(now);
+
+        String target;
+        long id;
+        int index;
+        int count;
+        int totalLength;
+        byte[] data;
+
+        try {
+            MessageReader in = new MessageReader(fragment);
+            target = in.readUTF();
+            id = in.readLong();
+            index = in.readInt();
+            count = in.readInt();
+            totalLength = in.readInt();
+            int length = in.readInt();
+
+            if (length < 0 || length > MessageChunker.MAX_FRAGMENT_SIZE) return null;
+            data = new byte[length];
+            in.readFully(data);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+
+        if (totalLength < 0 || totalLength > maxPayloadSize) {
+            transfers.remove(id);
+            return null;
+        }
+        if (count <= 0 || index < 0 || index >= count || (long) count * MessageChunker.MAX_FRAGMENT_SIZE < totalLength) {
+            transfers.remove(id);
+            return null;
+        }
+
+        Transfer transfer = transfers.get(id);
+        if (transfer == null) {
+            while (transfers.size() >= maxPending) {
+                Iterator<Long> it = transfers.keySet().iterator();
+                it.next();
+                it.remove();
+            }
+
+            transfer = new Transfer(target, count, totalLength, now);
+            transfers.put(id, transfer);
+        } else if (!transfer.matches(target, count, totalLength)) {
+            transfers.remove(id);
+            return null;
+        }
+
+        if (!transfer.add(index, data)) {
+            transfers.remove(id);
+            return null;
+        }
+        if (!transfer.isComplete()) return null;
+
+        transfers.remove(id);
+        if (transfer.size != totalLength) return null;
+        return new Payload(target, transfer.join());
+    }
+
+    /**
+     * Get the number of incomplete transfers currently buffered.
+     *
+     * @return The number of incomplete transfers.
+     */
+    public synchronized int getPending() {
+        return transfers.size();
+    }
+
+    /**
+     * Discard every incomplete transfer.
+     */
+    public synchronized void clear() {
+        transfers.clear();
+    }
+
+    private void expire(long now) {
+        Iterator<Transfer> it = transfers.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().createdAt < timeout) break;
+            it.remove();
+        }
+    }
+
+    public static final class Payload {
+        private final String target;
+        private final byte[] data;
+
+        private Payload(String target, byte[] data) {
+            this.target = target;
+            this.data = data;
+        }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+    }
+
+    private static final class Transfer {
+        private final String target;
+        private final byte[][] parts;
+        private final int totalLength;
+        private final long createdAt;
+        private int received = 0;
+        private int size = 0;
+
+        private Transfer(String target, int count, int totalLength, long createdAt) {
+            this.target = target;
+            this.parts = new byte[count][];
+            this.totalLength = totalLength;
+            this.createdAt = createdAt;
+        }
+
+        private boolean matches(String target, int count, int totalLength) {
+            return this.target.equals(target) && parts.length == count && this.totalLength == totalLength;
+        }
+
+        private boolean add(int index, byte[] data) {
+            if (parts[index] != null) return true;
+            if (size + data.length > totalLength) return false;
+
+            parts[index] = data;
+            size += data.length;
+            received++;
+            return true;
+        }
+
+        private boolean isComplete() {
+            return received == parts.length;
+        }
+
+        private byte[] join() {
+            byte[] data = new byte[totalLength];
+            int offset = 0;
+            for (byte[] part : parts) {
+                System.arraycopy(part, 0, data, offset, part.length);
+                offset += part.length;
+            }
+
+            return data;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package it.multicoredev.mbcore.common.pmc;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public final class MessageChunker {
+    /**
+     * The channel used to transfer the fragments of a custom message, and the subchannel used to transfer the
+     * fragments of a forwarded message.
+     */
+    public static final String CHANNEL = "mbcore:chunk";
+    /**
+     * The maximum amount of payload bytes carried by a single fragment.
+     * It leaves enough room for the fragment header and the BungeeCord Forward header under the 32 KB plugin message limit.
+     */
+    public static final int MAX_FRAGMENT_SIZE = 30000;
+
+    private static final AtomicLong transferIds = new AtomicLong(ThreadLocalRandom.current().nextLong());
+
+    private MessageChunker() {
+    }
+
+    /**
+     * Check if a payload is too big to be sent as a single plugin message.
+     *
+     * @param size The size of the payload in bytes.
+     * @return true if the payload must be split in fragments.
+     */
+    public static boolean needsChunking(int size) {
+        return size > MAX_FRAGMENT_SIZE;
+    }
+
+    /**
+     * Split a payload in sequenced fragments that can be reassembled by a {@link ChunkAssembler}.
+     * Every fragment is formatted as: target (UTF), transfer id (long), index (int), count (int),
+     * total length (int), fragment length (int), fragment bytes.
+     *
+     * @param target  The channel (or forward subchannel) the reassembled payload is addressed to.
+     * @param payload The payload to split.
+     * @return The list of fragments in sending order.
+     */
+    public static List<byte[]> split(@NotNull String target, @NotNull byte[] payload) {
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(payload);
+
+        long id = transferIds.incrementAndGet();
+        int count = Math.max(1, (payload.length + MAX_FRAGMENT_SIZE - 1) / MAX_FRAGMENT_SIZE);
+        List<byte[]> fragments = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            int offset = i * MAX_FRAGMENT_SIZE;
+            int length = Math.min(MAX_FRAGMENT_SIZE, payload.length - offset);
+
+            MessageWriter out = new MessageWriter(length + target.length() + 32);
+            out.writeUTF(target);
+            out.writeLong(id);
+            out.writeInt(i);
+            out.writeInt(count);
+            out.writeInt(payload.length);
+            out.writeInt(length);
+            out.writeByteArray(payload, offset, length);
+            fragments.add(out.toByteArray());
+        }
+
+        return fragments;
+    }
+}
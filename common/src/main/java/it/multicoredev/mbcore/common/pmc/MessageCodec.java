@@ -0,0 +1,90 @@
+package it.multicoredev.mbcore.common.pmc;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public interface MessageCodec<T> {
+
+    /**
+     * Get the name of the schema, used as the subchannel of the encoded messages.
+     * The same codec is used on every platform, so both sides of the channel share the name, the version and the
+     * order of the fields.
+     *
+     * @return The name of the schema.
+     */
+    @NotNull String getName();
+
+    /**
+     * Get the version of the schema. Messages with a different version are rejected by the receiver instead of being
+     * decoded with the wrong layout, so the version must be increased every time the layout changes.
+     *
+     * @return The version of the schema, between 0 and 65535.
+     */
+    int getVersion();
+
+    /**
+     * Encode the fields of a message.
+     * The fields must be written in the same order they are read by {@link #decode(MessageReader)}.
+     *
+     * @param message The message to encode.
+     * @param out     The {@link MessageWriter} to write the fields to.
+     */
+    void encode(@NotNull T message, @NotNull MessageWriter out);
+
+    /**
+     * Decode the fields of a message.
+     *
+     * @param in The reader over the message bytes, positioned right after the schema header.
+     * @return The decoded message.
+     */
+    T decode(@NotNull MessageReader in);
+
+    /**
+     * Write the schema header followed by the encoded message.
+     *
+     * @param message The message to encode.
+     * @param out     The {@link MessageWriter} to write the message to, usually the custom message of a platform.
+     * @param <W>     The type of the writer.
+     * @return The writer.
+     */
+    default <W extends MessageWriter> W write(@NotNull T message, @NotNull W out) {
+        Objects.requireNonNull(message);
+        Objects.requireNonNull(out);
+
+        out.writeUTF(getName());
+        out.writeShort(getVersion());
+        encode(message, out);
+        return out;
+    }
+}
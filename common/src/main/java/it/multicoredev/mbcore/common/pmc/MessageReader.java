@@ -0,0 +1,232 @@
+package it.multicoredev.mbcore.common.pmc;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public final class MessageReader implements DataInput {
+    private final byte[] buf;
+    private final int limit;
+    private int pos;
+
+    /**
+     * A reader over a plugin message that reads directly from the backing array without copying it.
+     * Like Guava's ByteArrayDataInput, reading past the end of the message throws an {@link IllegalStateException}.
+     *
+     * @param buf    The message bytes.
+     * @param offset The index of the first byte to read.
+     * @param length The number of readable bytes.
+     */
+    public MessageReader(@NotNull byte[] buf, int offset, int length) {
+        Objects.requireNonNull(buf);
+        if (offset < 0 || length < 0 || offset + length > buf.length) throw new IndexOutOfBoundsException();
+
+        this.buf = buf;
+        this.pos = offset;
+        this.limit = offset + length;
+    }
+
+    public MessageReader(@NotNull byte[] buf) {
+        this(buf, 0, buf.length);
+    }
+
+    /**
+     * Get the number of bytes left to read.
+     *
+     * @return The number of bytes left.
+     */
+    public int remaining() {
+        return limit - pos;
+    }
+
+    /**
+     * Create a reader over the next bytes of this message and skip them. The bytes are not copied.
+     *
+     * @param length The number of bytes.
+     * @return A new reader over the bytes.
+     */
+    public MessageReader slice(int length) {
+        require(length);
+        MessageReader slice = new MessageReader(buf, pos, length);
+        pos += length;
+        return slice;
+    }
+
+    /**
+     * Create a stream over the remaining bytes of this message. The bytes are not copied.
+     *
+     * @return A stream over the remaining bytes.
+     */
+    public ByteArrayInputStream toInputStream() {
+        return new ByteArrayInputStream(buf, pos, limit - pos);
+    }
+
+    /**
+     * Read the next bytes of this message into a new array.
+     *
+     * @param length The number of bytes.
+     * @return The bytes read.
+     */
+    public byte[] readBytes(int length) {
+        byte[] bytes = new byte[length];
+        readFully(bytes);
+        return bytes;
+    }
+
+    @Override
+    public void readFully(@NotNull byte[] b) {
+        readFully(b, 0, b.length);
+    }
+
+    @Override
+    public void readFully(@NotNull byte[] b, int off, int len) {
+        require(len);
+        System.arraycopy(buf, pos, b, off, len);
+        pos += len;
+    }
+
+    @Override
+    public int skipBytes(int n) {
+        int skipped = Math.max(0, Math.min(n, limit - pos));
+        pos += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return readUnsignedByte() != 0;
+    }
+
+    @Override
+    public byte readByte() {
+        require(1);
+        return buf[pos++];
+    }
+
+    @Override
+    public int readUnsignedByte() {
+        return readByte() & 0xFF;
+    }
+
+    @Override
+    public short readShort() {
+        return (short) readUnsignedShort();
+    }
+
+    @Override
+    public int readUnsignedShort() {
+        require(2);
+        int value = ((buf[pos] & 0xFF) << 8) | (buf[pos + 1] & 0xFF);
+        pos += 2;
+        return value;
+    }
+
+    @Override
+    public char readChar() {
+        return (char) readUnsignedShort();
+    }
+
+    @Override
+    public int readInt() {
+        require(4);
+        int value = ((buf[pos] & 0xFF) << 24) | ((buf[pos + 1] & 0xFF) << 16) | ((buf[pos + 2] & 0xFF) << 8) | (buf[pos + 3] & 0xFF);
+        pos += 4;
+        return value;
+    }
+
+    @Override
+    public long readLong() {
+        return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public float readFloat() {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    @Override
+    public double readDouble() {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    @Nullable
+    @Override
+    public String readLine() {
+        if (pos >= limit) return null;
+
+        int start = pos;
+        while (pos < limit && buf[pos] != '\n' && buf[pos] != '\r') pos++;
+        String line = new String(buf, start, pos - start, StandardCharsets.ISO_8859_1);
+
+        if (pos < limit && buf[pos++] == '\r' && pos < limit && buf[pos] == '\n') pos++;
+        return line;
+    }
+
+    @NotNull
+    @Override
+    public String readUTF() {
+        int length = readUnsignedShort();
+        require(length);
+
+        boolean ascii = true;
+        for (int i = pos; i < pos + length; i++) {
+            if (buf[i] <= 0) {
+                ascii = false;
+                break;
+            }
+        }
+
+        if (ascii) {
+            String s = new String(buf, pos, length, StandardCharsets.ISO_8859_1);
+            pos += length;
+            return s;
+        }
+
+        pos -= 2;
+        try {
+            return DataInputStream.readUTF(this);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void require(int length) {
+        if (length < 0 || length > limit - pos) throw new IllegalStateException(new java.io.EOFException());
+    }
+}
@@ -0,0 +1,70 @@
+package it.multicoredev.mbcore.common.pmc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * Marks a record as the schema of a plugin message. The MBCore-processor annotation processor generates a
+ * {@link MessageCodec} named after the record with a {@code Codec} suffix, in the same package, that writes and reads
+ * the record components in declaration order without reflection.
+ * <p>
+ * Supported component types are primitives and their boxes, {@link String}, {@code byte[]}, {@link java.util.UUID},
+ * enums, other {@code @PmcMessage} records and {@link java.util.List}s of those. Components annotated with a
+ * {@code @Nullable} annotation are written after a presence flag, any other component must not be null.
+ * <p>
+ * The processor must be on the annotation processor path of the plugin declaring the records, for example with the
+ * {@code annotationProcessorPaths} of the maven-compiler-plugin.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface PmcMessage {
+
+    /**
+     * Get the name of the schema, used as the subchannel of the encoded messages.
+     *
+     * @return The name of the schema, or an empty string to use the simple name of the record.
+     */
+    String name() default "";
+
+    /**
+     * Get the version of the schema, it must be increased every time the components of the record change.
+     *
+     * @return The version of the schema, between 0 and 65535.
+     */
+    int version() default 1;
+}
@@ -0,0 +1,278 @@
+package it.multicoredev.mbcore.common.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public final class CompletionIndex {
+    private static final Comparator<String[]> ORDER = Comparator.<String[], String>comparing(entry -> entry[0]).thenComparing(entry -> entry[1]);
+    private static final CompletionIndex EMPTY = new CompletionIndex(new String[0], new String[0]);
+    private final String[] keys;
+    private final String[] values;
+
+    private CompletionIndex(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Get an empty index.
+     *
+     * @return An empty {@link CompletionIndex}.
+     */
+    public static CompletionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index of completions. The completions are lowercased and sorted once, then every search is a binary search
+     * over the sorted completions.
+     * The index is immutable, build it once for every static set of completions and reuse it.
+     *
+     * @param completions The completions to index.
+     * @return The {@link CompletionIndex} of the completions.
+     */
+    public static CompletionIndex of(@NotNull Collection<String> completions) {
+        Objects.requireNonNull(completions);
+        return of(completions.toArray(new String[0]));
+    }
+
+    /**
+     * Build an index of completions. The completions are lowercased and sorted once, then every search is a binary search
+     * over the sorted completions.
+     * The index is immutable, build it once for every static set of completions and reuse it.
+     *
+     * @param completions The completions to index.
+     * @return The {@link CompletionIndex} of the completions.
+     */
+    public static CompletionIndex of(@NotNull String... completions) {
+        Objects.requireNonNull(completions);
+        if (completions.length == 0) return EMPTY;
+
+        String[][] entries = new String[completions.length][];
+        for (int i = 0; i < completions.length; i++) {
+            String completion = Objects.requireNonNull(completions[i]);
+            entries[i] = new String[]{key(completion), completion};
+        }
+        Arrays.sort(entries, ORDER);
+
+        String[] keys = new String[entries.length];
+        String[] values = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            keys[i] = entries[i][0];
+            values[i] = entries[i][1];
+        }
+
+        return new CompletionIndex(keys, values);
+    }
+
+    /**
+     * Get a copy of this index with a completion added.
+     * Only this completion is placed in the copy, the other completions are not sorted again.
+     *
+     * @param completion The completion to add.
+     * @return The new {@link CompletionIndex}, or this index if it already contains the completion.
+     */
+    public CompletionIndex with(@NotNull String completion) {
+        Objects.requireNonNull(completion);
+
+        String key = key(completion);
+        int index = indexOf(key, completion);
+        if (index >= 0) return this;
+        index = -index - 1;
+
+        String[] keys = new String[this.keys.length + 1];
+        String[] values = new String[this.values.length + 1];
+        System.arraycopy(this.keys, 0, keys, 0, index);
+        System.arraycopy(this.values, 0, values, 0, index);
+        keys[index] = key;
+        values[index] = completion;
+        System.arraycopy(this.keys, index, keys, index + 1, this.keys.length - index);
+        System.arraycopy(this.values, index, values, index + 1, this.values.length - index);
+
+        return new CompletionIndex(keys, values);
+    }
+
+    /**
+     * Get a copy of this index with a completion removed.
+     *
+     * @param completion The completion to remove.
+     * @return The new {@link CompletionIndex}, or this index if it doesn't contain the completion.
+     */
+    public CompletionIndex without(@NotNull String completion) {
+        Objects.requireNonNull(completion);
+
+        int index = indexOf(key(completion), completion);
+        if (index < 0) return this;
+        if (keys.length == 1) return EMPTY;
+
+        String[] keys = new String[this.keys.length - 1];
+        String[] values = new String[this.values.length - 1];
+        System.arraycopy(this.keys, 0, keys, 0, index);
+        System.arraycopy(this.values, 0, values, 0, index);
+        System.arraycopy(this.keys, index + 1, keys, index, keys.length - index);
+        System.arraycopy(this.values, index + 1, values, index, values.length - index);
+
+        return new CompletionIndex(keys, values);
+    }
+
+    /**
+     * Check if the index contains a completion.
+     *
+     * @param completion The completion to check.
+     * @return true if the index contains the completion.
+     */
+    public boolean contains(@Nullable String completion) {
+        return completion != null && indexOf(key(completion), completion) >= 0;
+    }
+
+    /**
+     * Get the number of completions in the index.
+     *
+     * @return The number of completions.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * Get the completions starting with the searched characters, ignoring the case, in alphabetical order.
+     *
+     * @param search The starting characters of the completions searched.
+     *               If null or empty all completions will be returned.
+     * @return A new list of completions.
+     */
+    public List<String> complete(@Nullable String search) {
+        if (search == null || search.trim().isEmpty()) return new ArrayList<>(Arrays.asList(values));
+
+        String prefix = key(search);
+        int from = lowerBound(prefix);
+        int to = upperBound(prefix, from);
+
+        return new ArrayList<>(Arrays.asList(values).subList(from, to));
+    }
+
+    /**
+     * Get the position of the first completion starting with the searched characters and the position after the last one.
+     * The completions between the two positions can be read with {@link #get(int)}.
+     *
+     * @param search The starting characters of the completions searched, already lowercased with {@link #key(String)}.
+     * @return The range of the completions, as an array of two positions.
+     */
+    public int[] range(@NotNull String search) {
+        Objects.requireNonNull(search);
+
+        int from = lowerBound(search);
+        return new int[]{from, upperBound(search, from)};
+    }
+
+    /**
+     * Get the completion at a position of the index.
+     *
+     * @param index The position of the completion.
+     * @return The completion.
+     */
+    public String get(int index) {
+        return values[index];
+    }
+
+    /**
+     * Lowercase a text the same way the completions are lowercased in the index.
+     *
+     * @param text The text to lowercase.
+     * @return The lowercased text.
+     */
+    public static String key(@NotNull String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Get the position of a completion in the index.
+     *
+     * @param completion The completion to search.
+     * @return The position of the completion, or (-(insertion point) - 1) if the index doesn't contain it.
+     */
+    public int indexOf(@NotNull String completion) {
+        return indexOf(key(completion), completion);
+    }
+
+    private int indexOf(String key, String value) {
+        int low = 0;
+        int high = keys.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = keys[mid].compareTo(key);
+            if (cmp == 0) cmp = values[mid].compareTo(value);
+
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return mid;
+        }
+
+        return -(low + 1);
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(prefix) < 0) low = mid + 1;
+            else high = mid;
+        }
+
+        return low;
+    }
+
+    private int upperBound(String prefix, int from) {
+        int low = from;
+        int high = keys.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].startsWith(prefix)) low = mid + 1;
+            else high = mid;
+        }
+
+        return low;
+    }
+}
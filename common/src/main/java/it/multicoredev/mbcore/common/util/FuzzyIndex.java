@@ -0,0 +1,311 @@
+package it.multicoredev.mbcore.common.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public final class FuzzyIndex {
+    private static final int PREFIX = 0;
+    private static final int SUBSTRING = 1;
+    private static final int FUZZY = 2;
+    private final CompletionIndex index;
+    private final String[] keys;
+    private final Map<Long, int[]> grams;
+    private final Map<Long, int[]> trigrams;
+
+    private FuzzyIndex(CompletionIndex index, String[] keys, Map<Long, int[]> grams, Map<Long, int[]> trigrams) {
+        this.index = index;
+        this.keys = keys;
+        this.grams = grams;
+        this.trigrams = trigrams;
+    }
+
+    /**
+     * Build a fuzzy index of completions. Every completion is split in trigrams (groups of three characters),
+     * bigrams and single characters, and only the completions sharing them with the search are compared with it.
+     * The index is immutable and expensive to build, build it once for every static set of completions and reuse it.
+     *
+     * @param completions The completions to index.
+     * @return The {@link FuzzyIndex} of the completions.
+     */
+    public static FuzzyIndex of(@NotNull Collection<String> completions) {
+        Objects.requireNonNull(completions);
+        return of(completions.toArray(new String[0]));
+    }
+
+    /**
+     * Build a fuzzy index of completions. Every completion is split in trigrams (groups of three characters),
+     * bigrams and single characters, and only the completions sharing them with the search are compared with it.
+     * The index is immutable and expensive to build, build it once for every static set of completions and reuse it.
+     *
+     * @param completions The completions to index.
+     * @return The {@link FuzzyIndex} of the completions.
+     */
+    public static FuzzyIndex of(@NotNull String... completions) {
+        Objects.requireNonNull(completions);
+
+        CompletionIndex index = CompletionIndex.of(completions);
+        String[] keys = new String[index.size()];
+        Map<Long, List<Integer>> gramPostings = new HashMap<>();
+        Map<Long, List<Integer>> trigramPostings = new HashMap<>();
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = CompletionIndex.key(index.get(i));
+
+            for (int j = 0; j < keys[i].length(); j++) {
+                post(gramPostings, gram(keys[i], j, 1), i);
+                if (j + 2 <= keys[i].length()) post(gramPostings, gram(keys[i], j, 2), i);
+                if (j + 3 <= keys[i].length()) post(trigramPostings, trigram(keys[i], j), i);
+            }
+        }
+
+        return new FuzzyIndex(index, keys, toArrays(gramPostings), toArrays(trigramPostings));
+    }
+
+    /**
+     * Get the number of completions in the index.
+     *
+     * @return The number of completions.
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Get the completions best matching the searched characters, ignoring the case.
+     * The completions starting with the search come first, then the ones containing it and last the ones
+     * containing it with some typos (one every four characters searched).
+     * Within the same kind of match the closest and shortest completions come first.
+     * Searches shorter than four characters only match the completions starting with or containing them.
+     *
+     * @param search The characters searched. If null or empty the first completions in alphabetical order will be returned.
+     * @param limit  The maximum number of completions returned.
+     * @return A new list of the best completions, the best one first.
+     */
+    public List<String> search(@Nullable String search, int limit) {
+        if (limit <= 0) return new ArrayList<>();
+        if (search == null || search.trim().isEmpty()) {
+            List<String> matches = new ArrayList<>(Math.min(limit, keys.length));
+            for (int i = 0; i < keys.length && i < limit; i++) matches.add(index.get(i));
+            return matches;
+        }
+
+        String query = CompletionIndex.key(search);
+        PriorityQueue<Long> best = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+
+        if (query.length() < 3) {
+            // The prefix matches are a range of the sorted completions, the other ones containing the search
+            // are listed by its bigram (or character).
+            int[] range = index.range(query);
+            for (int i = range[0]; i < range[1]; i++) offer(best, limit, rank(PREFIX, 0, i));
+
+            int[] ids = grams.get(gram(query, 0, query.length()));
+            if (ids != null) {
+                for (int id : ids) {
+                    if (id < range[0] || id >= range[1]) offer(best, limit, rank(SUBSTRING, keys[id].indexOf(query), id));
+                }
+            }
+        } else {
+            int maxDistance = query.length() / 4;
+            int[][] postings = new int[query.length() - 2][];
+            int lists = 0;
+            int count = 0;
+
+            for (int j = 0; j + 3 <= query.length(); j++) {
+                if (query.lastIndexOf(query.substring(j, j + 3), j - 1) >= 0) continue;
+                count++;
+
+                int[] ids = trigrams.get(trigram(query, j));
+                if (ids != null) postings[lists++] = ids;
+            }
+
+            // A completion within n typos of the search shares all but 3n of its trigrams,
+            // so the completions listed by the trigrams are counted and only the ones listed enough times are compared.
+            int minHits = count - 3 * maxDistance;
+            if (minHits > 0) {
+                int[] ids = merge(postings, lists);
+                for (int i = 0; i < ids.length; ) {
+                    int id = ids[i];
+                    int hits = 0;
+                    while (i < ids.length && ids[i] == id) {
+                        hits++;
+                        i++;
+                    }
+
+                    if (hits >= minHits) score(best, limit, query, maxDistance, id);
+                }
+            } else {
+                // When the typos can remove every trigram, the search is split in n + 1 pieces instead:
+                // n typos leave at least one piece untouched, so the completion must contain it.
+                String[] pieces = pieces(query, maxDistance + 1);
+                lists = 0;
+                for (String piece : pieces) {
+                    int[] ids = piece.length() >= 3 ? trigrams.get(trigram(piece, 0)) : grams.get(gram(piece, 0, piece.length()));
+                    if (ids != null) postings[lists++] = ids;
+                }
+
+                int minLength = query.length() - maxDistance;
+                int[] ids = merge(postings, lists);
+                for (int i = 0; i < ids.length; i++) {
+                    if (i > 0 && ids[i] == ids[i - 1]) continue;
+                    if (keys[ids[i]].length() >= minLength && containsAny(keys[ids[i]], pieces)) score(best, limit, query, maxDistance, ids[i]);
+                }
+            }
+        }
+
+        long[] ranks = new long[best.size()];
+        for (int i = ranks.length - 1; i >= 0; i--) ranks[i] = best.poll();
+
+        List<String> matches = new ArrayList<>(ranks.length);
+        for (long rank : ranks) matches.add(index.get((int) (rank & 0xFFFFFFFFL)));
+
+        return matches;
+    }
+
+    private void score(PriorityQueue<Long> best, int limit, String query, int maxDistance, int id) {
+        int position = keys[id].indexOf(query);
+        if (position >= 0) {
+            offer(best, limit, rank(position == 0 ? PREFIX : SUBSTRING, position, id));
+            return;
+        }
+
+        int distance = distance(query, keys[id]);
+        if (distance <= maxDistance) offer(best, limit, rank(FUZZY, distance, id));
+    }
+
+    private long rank(int kind, int score, int id) {
+        return (long) kind << 60 | (long) Math.min(score, 0xFFF) << 48 | (long) Math.min(keys[id].length(), 0xFFFF) << 32 | id;
+    }
+
+    private static void offer(PriorityQueue<Long> best, int limit, long rank) {
+        if (best.size() < limit) best.add(rank);
+        else if (rank < best.peek()) {
+            best.poll();
+            best.add(rank);
+        }
+    }
+
+    /**
+     * Join posting lists in a single sorted array, an id appears once for every list containing it.
+     */
+    private static int[] merge(int[][] postings, int lists) {
+        int total = 0;
+        for (int i = 0; i < lists; i++) total += postings[i].length;
+
+        int[] ids = new int[total];
+        int offset = 0;
+        for (int i = 0; i < lists; i++) {
+            System.arraycopy(postings[i], 0, ids, offset, postings[i].length);
+            offset += postings[i].length;
+        }
+
+        if (lists > 1) Arrays.sort(ids);
+        return ids;
+    }
+
+    private static void post(Map<Long, List<Integer>> postings, long gram, int id) {
+        List<Integer> ids = postings.computeIfAbsent(gram, k -> new ArrayList<>());
+        if (ids.isEmpty() || ids.get(ids.size() - 1) != id) ids.add(id);
+    }
+
+    private static Map<Long, int[]> toArrays(Map<Long, List<Integer>> postings) {
+        Map<Long, int[]> arrays = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((gram, ids) -> arrays.put(gram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return arrays;
+    }
+
+    private static String[] pieces(String text, int count) {
+        String[] pieces = new String[count];
+        for (int i = 0; i < count; i++) {
+            pieces[i] = text.substring(text.length() * i / count, text.length() * (i + 1) / count);
+        }
+
+        return pieces;
+    }
+
+    private static boolean containsAny(String text, String[] pieces) {
+        for (String piece : pieces) {
+            if (text.contains(piece)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Key of a single character or of a bigram, the bigrams are marked so they never collide with the characters.
+     */
+    private static long gram(String text, int index, int length) {
+        if (length == 1) return text.charAt(index);
+        return 1L << 32 | (long) text.charAt(index) << 16 | text.charAt(index + 1);
+    }
+
+    private static long trigram(String text, int index) {
+        return (long) text.charAt(index) << 32 | (long) text.charAt(index + 1) << 16 | text.charAt(index + 2);
+    }
+
+    /**
+     * Edit distance between the pattern and the part of the text most similar to it.
+     */
+    private static int distance(String pattern, String text) {
+        int[] previous = new int[pattern.length() + 1];
+        int[] current = new int[pattern.length() + 1];
+        for (int i = 0; i < previous.length; i++) previous[i] = i;
+        int best = previous[pattern.length()];
+
+        for (int j = 0; j < text.length(); j++) {
+            char c = text.charAt(j);
+            current[0] = 0;
+
+            for (int i = 1; i < current.length; i++) {
+                int cost = pattern.charAt(i - 1) == c ? 0 : 1;
+                current[i] = Math.min(previous[i - 1] + cost, Math.min(previous[i], current[i - 1]) + 1);
+            }
+
+            best = Math.min(best, current[pattern.length()]);
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return best;
+    }
+}
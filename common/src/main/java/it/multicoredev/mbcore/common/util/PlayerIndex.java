@@ -0,0 +1,152 @@
+package it.multicoredev.mbcore.common.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public final class PlayerIndex {
+    private static final PlayerIndex EMPTY = new PlayerIndex(CompletionIndex.empty(), new boolean[0]);
+    private final CompletionIndex names;
+    private final boolean[] vanished;
+
+    private PlayerIndex(CompletionIndex names, boolean[] vanished) {
+        this.names = names;
+        this.vanished = vanished;
+    }
+
+    /**
+     * Build an index of player names with the vanish status of every player kept next to its name,
+     * so a search never has to check if a player is vanished.
+     *
+     * @param names    The names of the players.
+     * @param vanished The names of the vanished players.
+     * @return The {@link PlayerIndex} of the players.
+     */
+    public static PlayerIndex of(@NotNull Collection<String> names, @NotNull Collection<String> vanished) {
+        Objects.requireNonNull(names);
+        Objects.requireNonNull(vanished);
+        if (names.isEmpty()) return EMPTY;
+
+        CompletionIndex index = CompletionIndex.of(names);
+        boolean[] flags = new boolean[index.size()];
+        for (String name : vanished) {
+            int i = index.indexOf(name);
+            if (i >= 0) flags[i] = true;
+        }
+
+        return new PlayerIndex(index, flags);
+    }
+
+    /**
+     * Get a copy of this index with a player added.
+     * If the player is already in the index only its vanish status is updated.
+     *
+     * @param name     The name of the player.
+     * @param vanished Whether the player is vanished.
+     * @return The new {@link PlayerIndex}.
+     */
+    public PlayerIndex with(@NotNull String name, boolean vanished) {
+        int index = names.indexOf(name);
+        if (index >= 0) return vanished(index, vanished);
+        index = -index - 1;
+
+        boolean[] flags = new boolean[this.vanished.length + 1];
+        System.arraycopy(this.vanished, 0, flags, 0, index);
+        flags[index] = vanished;
+        System.arraycopy(this.vanished, index, flags, index + 1, this.vanished.length - index);
+
+        return new PlayerIndex(names.with(name), flags);
+    }
+
+    /**
+     * Get a copy of this index with a player removed.
+     *
+     * @param name The name of the player.
+     * @return The new {@link PlayerIndex}, or this index if it doesn't contain the player.
+     */
+    public PlayerIndex without(@NotNull String name) {
+        int index = names.indexOf(name);
+        if (index < 0) return this;
+        if (vanished.length == 1) return EMPTY;
+
+        boolean[] flags = new boolean[vanished.length - 1];
+        System.arraycopy(vanished, 0, flags, 0, index);
+        System.arraycopy(vanished, index + 1, flags, index, flags.length - index);
+
+        return new PlayerIndex(names.without(name), flags);
+    }
+
+    /**
+     * Get a copy of this index with the vanish status of a player changed.
+     *
+     * @param name     The name of the player.
+     * @param vanished Whether the player is vanished.
+     * @return The new {@link PlayerIndex}, or this index if the player isn't in the index or its status didn't change.
+     */
+    public PlayerIndex vanished(@NotNull String name, boolean vanished) {
+        int index = names.indexOf(name);
+        return index < 0 ? this : vanished(index, vanished);
+    }
+
+    /**
+     * Get the names of the players starting with the searched characters, ignoring the case, in alphabetical order.
+     *
+     * @param search       The starting characters of the names searched.
+     *                     If null or empty all player names will be returned.
+     * @param showVanished Choose to show vanished players.
+     * @return A new list of player names.
+     */
+    public List<String> complete(@Nullable String search, boolean showVanished) {
+        if (showVanished) return names.complete(search);
+
+        int[] range = search == null || search.trim().isEmpty() ? new int[]{0, vanished.length} : names.range(CompletionIndex.key(search));
+        List<String> matches = new ArrayList<>(range[1] - range[0]);
+        for (int i = range[0]; i < range[1]; i++) {
+            if (!vanished[i]) matches.add(names.get(i));
+        }
+
+        return matches;
+    }
+
+    private PlayerIndex vanished(int index, boolean vanished) {
+        if (this.vanished[index] == vanished) return this;
+
+        boolean[] flags = this.vanished.clone();
+        flags[index] = vanished;
+        return new PlayerIndex(names, flags);
+    }
+}
@@ -0,0 +1,366 @@
+package it.multicoredev.mbcore.processor;
+
+import it.multicoredev.mbcore.common.pmc.PmcMessage;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+/**
+ * Annotation processor generating a {@link it.multicoredev.mbcore.common.pmc.MessageCodec} for every record annotated
+ * with {@link PmcMessage}. The generated codecs write the record components in declaration order with the
+ * {@link it.multicoredev.mbcore.common.pmc.MessageWriter} methods and read them back with the
+ * {@link it.multicoredev.mbcore.common.pmc.MessageReader} ones, so the encoder and the decoder can never disagree on
+ * the layout.
+ */
+@SupportedAnnotationTypes("it.multicoredev.mbcore.common.pmc.PmcMessage")
+public class PmcMessageProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (Element element : round.getElementsAnnotatedWith(PmcMessage.class)) {
+            if (element.getKind() != ElementKind.RECORD) {
+                error("@PmcMessage can only be used on records", element);
+                continue;
+            }
+
+            TypeElement record = (TypeElement) element;
+            if (record.getModifiers().contains(Modifier.PRIVATE) || !record.getTypeParameters().isEmpty()) {
+                error("@PmcMessage records cannot be private or generic", record);
+                continue;
+            }
+
+            PmcMessage schema = record.getAnnotation(PmcMessage.class);
+            if (schema.version() < 0 || schema.version() > 0xFFFF) {
+                error("@PmcMessage version must be between 0 and 65535", record);
+                continue;
+            }
+
+            try {
+                generate(record, schema);
+            } catch (IOException e) {
+                error("Cannot write the codec of " + record.getQualifiedName() + ": " + e.getMessage(), record);
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement record, PmcMessage schema) throws IOException {
+        String recordName = record.getQualifiedName().toString();
+        String packageName = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+        String codecName = codecName(record);
+        String simpleName = codecName.substring(codecName.lastIndexOf('.') + 1);
+        String name = schema.name().isEmpty() ? record.getSimpleName().toString() : schema.name();
+
+        Generator encode = new Generator();
+        Generator decode = new Generator();
+        StringBuilder arguments = new StringBuilder();
+        for (RecordComponentElement component : record.getRecordComponents()) {
+            TypeMirror type = component.asType();
+            boolean nullable = !type.getKind().isPrimitive() && (isNullable(component) || isNullable(component.getAccessor()));
+
+            String value = encode.local();
+            encode.line("        " + typeName(type) + " " + value + " = message." + component.getSimpleName() + "();");
+            if (!encode.write(type, value, nullable, "        ", component)) return;
+
+            String local = decode.read(type, nullable, "        ", component);
+            if (local == null) return;
+            if (arguments.length() > 0) arguments.append(", ");
+            arguments.append(local);
+        }
+
+        String visibility = record.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+        try (Writer out = processingEnv.getFiler().createSourceFile(codecName, record).openWriter()) {
+            if (!packageName.isEmpty()) out.write("package " + packageName + ";\n\n");
+            out.write("/**\n");
+            out.write(" * Codec of {@link " + recordName + "}, generated by the MBCore-processor. Do not edit.\n");
+            out.write(" */\n");
+            out.write("@javax.annotation.processing.Generated(\"" + PmcMessageProcessor.class.getName() + "\")\n");
+            out.write(visibility + "final class " + simpleName + " implements it.multicoredev.mbcore.common.pmc.MessageCodec<" + recordName + "> {\n");
+            out.write("    public static final String NAME = " + processingEnv.getElementUtils().getConstantExpression(name) + ";\n");
+            out.write("    public static final int VERSION = " + schema.version() + ";\n");
+            out.write("    public static final " + simpleName + " INSTANCE = new " + simpleName + "();\n\n");
+            out.write("    private " + simpleName + "() {\n");
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public String getName() {\n");
+            out.write("        return NAME;\n");
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public int getVersion() {\n");
+            out.write("        return VERSION;\n");
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public void encode(" + recordName + " message, it.multicoredev.mbcore.common.pmc.MessageWriter out) {\n");
+            out.write(encode.code.toString());
+            out.write("    }\n\n");
+            out.write("    @Override\n");
+            out.write("    public " + recordName + " decode(it.multicoredev.mbcore.common.pmc.MessageReader in) {\n");
+            out.write(decode.code.toString());
+            out.write("        return new " + recordName + "(" + arguments + ");\n");
+            out.write("    }\n");
+            out.write("}\n");
+        }
+    }
+
+    private class Generator {
+        private final StringBuilder code = new StringBuilder();
+        private int locals;
+
+        private String local() {
+            return "v" + locals++;
+        }
+
+        private void line(String line) {
+            code.append(line).append('\n');
+        }
+
+        private boolean write(TypeMirror type, String value, boolean nullable, String indent, Element where) {
+            if (nullable) {
+                line(indent + "out.writeBoolean(" + value + " != null);");
+                line(indent + "if (" + value + " != null) {");
+                boolean written = write(type, value, false, indent + "    ", where);
+                line(indent + "}");
+                return written;
+            }
+
+            String primitive = primitive(type);
+            if (primitive != null) {
+                line(indent + "out.write" + primitive + "(" + value + ");");
+            } else if (isType(type, "java.lang.String")) {
+                line(indent + "out.writeUTF(" + value + ");");
+            } else if (isByteArray(type)) {
+                line(indent + "out.writeInt(" + value + ".length);");
+                line(indent + "out.writeByteArray(" + value + ");");
+            } else if (isType(type, "java.util.UUID")) {
+                line(indent + "out.writeLong(" + value + ".getMostSignificantBits());");
+                line(indent + "out.writeLong(" + value + ".getLeastSignificantBits());");
+            } else if (isEnum(type)) {
+                line(indent + "out.writeUTF(" + value + ".name());");
+            } else if (isMessage(type)) {
+                line(indent + codecName(element(type)) + ".INSTANCE.encode(" + value + ", out);");
+            } else if (isList(type)) {
+                TypeMirror elementType = ((DeclaredType) type).getTypeArguments().get(0);
+                String item = local();
+                line(indent + "out.writeInt(" + value + ".size());");
+                line(indent + "for (" + typeName(elementType) + " " + item + " : " + value + ") {");
+                boolean written = write(elementType, item, false, indent + "    ", where);
+                line(indent + "}");
+                return written;
+            } else {
+                error("Unsupported @PmcMessage component type " + typeName(type), where);
+                return false;
+            }
+
+            return true;
+        }
+
+        private String read(TypeMirror type, boolean nullable, String indent, Element where) {
+            String value = local();
+
+            if (nullable) {
+                line(indent + typeName(type) + " " + value + " = null;");
+                line(indent + "if (in.readBoolean()) {");
+                String present = read(type, false, indent + "    ", where);
+                if (present == null) return null;
+                line(indent + "    " + value + " = " + present + ";");
+                line(indent + "}");
+                return value;
+            }
+
+            String primitive = primitive(type);
+            if (primitive != null) {
+                line(indent + typeName(type) + " " + value + " = in.read" + primitive + "();");
+            } else if (isType(type, "java.lang.String")) {
+                line(indent + "java.lang.String " + value + " = in.readUTF();");
+            } else if (isByteArray(type)) {
+                line(indent + "byte[] " + value + " = in.readBytes(in.readInt());");
+            } else if (isType(type, "java.util.UUID")) {
+                line(indent + "java.util.UUID " + value + " = new java.util.UUID(in.readLong(), in.readLong());");
+            } else if (isEnum(type)) {
+                line(indent + typeName(type) + " " + value + " = " + typeName(type) + ".valueOf(in.readUTF());");
+            } else if (isMessage(type)) {
+                line(indent + typeName(type) + " " + value + " = " + codecName(element(type)) + ".INSTANCE.decode(in);");
+            } else if (isList(type)) {
+                TypeMirror elementType = ((DeclaredType) type).getTypeArguments().get(0);
+                String size = local();
+                String index = local();
+                line(indent + "int " + size + " = in.readInt();");
+                line(indent + "java.util.List<" + typeName(elementType) + "> " + value + " = new java.util.ArrayList<>(" + size + ");");
+                line(indent + "for (int " + index + " = 0; " + index + " < " + size + "; " + index + "++) {");
+                String item = read(elementType, false, indent + "    ", where);
+                if (item == null) return null;
+                line(indent + "    " + value + ".add(" + item + ");");
+                line(indent + "}");
+            } else {
+                error("Unsupported @PmcMessage component type " + typeName(type), where);
+                return null;
+            }
+
+            return value;
+        }
+    }
+
+    private String primitive(TypeMirror type) {
+        TypeKind kind = type.getKind();
+        if (!kind.isPrimitive()) {
+            try {
+                kind = processingEnv.getTypeUtils().unboxedType(type).getKind();
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        switch (kind) {
+            case BOOLEAN:
+                return "Boolean";
+            case BYTE:
+                return "Byte";
+            case SHORT:
+                return "Short";
+            case CHAR:
+                return "Char";
+            case INT:
+                return "Int";
+            case LONG:
+                return "Long";
+            case FLOAT:
+                return "Float";
+            case DOUBLE:
+                return "Double";
+            default:
+                return null;
+        }
+    }
+
+    private boolean isType(TypeMirror type, String name) {
+        return type.getKind() == TypeKind.DECLARED && element(type).getQualifiedName().contentEquals(name);
+    }
+
+    private boolean isByteArray(TypeMirror type) {
+        return type.getKind() == TypeKind.ARRAY && ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE;
+    }
+
+    private boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && element(type).getKind() == ElementKind.ENUM;
+    }
+
+    private boolean isMessage(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && element(type).getAnnotation(PmcMessage.class) != null;
+    }
+
+    private boolean isList(TypeMirror type) {
+        return isType(type, "java.util.List") && ((DeclaredType) type).getTypeArguments().size() == 1;
+    }
+
+    private boolean isNullable(Element element) {
+        if (element == null) return false;
+
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable")) return true;
+        }
+        for (AnnotationMirror annotation : element.asType().getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable")) return true;
+        }
+        return false;
+    }
+
+    private static TypeElement element(TypeMirror type) {
+        return (TypeElement) ((DeclaredType) type).asElement();
+    }
+
+    /**
+     * Get the source name of a type without its type annotations, that {@link TypeMirror#toString()} would include.
+     */
+    private String typeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return type.getKind().name().toLowerCase();
+        if (type.getKind() == TypeKind.ARRAY) return typeName(((ArrayType) type).getComponentType()) + "[]";
+        if (type.getKind() != TypeKind.DECLARED) return type.toString();
+
+        StringBuilder name = new StringBuilder(element(type).getQualifiedName());
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (!arguments.isEmpty()) {
+            name.append('<');
+            for (int i = 0; i < arguments.size(); i++) {
+                if (i > 0) name.append(", ");
+                name.append(typeName(arguments.get(i)));
+            }
+            name.append('>');
+        }
+        return name.toString();
+    }
+
+    /**
+     * Get the qualified name of the codec of a record, nested records get the names of the enclosing types as prefix.
+     */
+    private String codecName(TypeElement record) {
+        StringBuilder name = new StringBuilder("Codec");
+        Element element = record;
+        while (!(element instanceof PackageElement)) {
+            name.insert(0, element.getSimpleName());
+            element = element.getEnclosingElement();
+        }
+
+        Name packageName = ((PackageElement) element).getQualifiedName();
+        return packageName.length() == 0 ? name.toString() : packageName + "." + name;
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,195 @@
+package it.multicoredev.mbcore.spigot;
+
+import com.google.common.base.Preconditions;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class AudienceGroup implements ForwardingAudience {
+    private final Text text;
+    private volatile UUID[] members = new UUID[0];
+
+    AudienceGroup(@NotNull Text text) {
+        this.text = text;
+    }
+
+    /**
+     * Adds a player to this group.
+     *
+     * @param player The player to add.
+     * @return True if the player was not already a member of this group.
+     * @throws NullPointerException if the player is null.
+     */
+    public boolean add(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player cannot be null");
+        return add(player.getUniqueId());
+    }
+
+    /**
+     * Adds a player to this group.
+     *
+     * @param uuid The {@link UUID} of the player to add.
+     * @return True if the player was not already a member of this group.
+     * @throws NullPointerException if the uuid is null.
+     */
+    public synchronized boolean add(@NotNull UUID uuid) {
+        Preconditions.checkNotNull(uuid, "UUID cannot be null");
+        if (indexOf(uuid) >= 0) return false;
+
+        UUID[] updated = new UUID[members.length + 1];
+        System.arraycopy(members, 0, updated, 0, members.length);
+        updated[members.length] = uuid;
+        members = updated;
+        return true;
+    }
+
+    /**
+     * Adds a collection of players to this group.
+     *
+     * @param players The players to add.
+     * @throws NullPointerException if the collection or one of the players is null.
+     */
+    public synchronized void addAll(@NotNull Collection<? extends Player> players) {
+        Preconditions.checkNotNull(players, "Players cannot be null");
+
+        Set<UUID> updated = new LinkedHashSet<>(members.length + players.size());
+        Collections.addAll(updated, members);
+        for (Player player : players) {
+            Preconditions.checkNotNull(player, "Player cannot be null");
+            updated.add(player.getUniqueId());
+        }
+        members = updated.toArray(new UUID[0]);
+    }
+
+    /**
+     * Removes a player from this group.
+     *
+     * @param player The player to remove.
+     * @return True if the player was a member of this group.
+     * @throws NullPointerException if the player is null.
+     */
+    public boolean remove(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player cannot be null");
+        return remove(player.getUniqueId());
+    }
+
+    /**
+     * Removes a player from this group.
+     *
+     * @param uuid The {@link UUID} of the player to remove.
+     * @return True if the player was a member of this group.
+     * @throws NullPointerException if the uuid is null.
+     */
+    public synchronized boolean remove(@NotNull UUID uuid) {
+        Preconditions.checkNotNull(uuid, "UUID cannot be null");
+        int index = indexOf(uuid);
+        if (index < 0) return false;
+
+        UUID[] updated = new UUID[members.length - 1];
+        System.arraycopy(members, 0, updated, 0, index);
+        System.arraycopy(members, index + 1, updated, index, updated.length - index);
+        members = updated;
+        return true;
+    }
+
+    /**
+     * Checks if a player is a member of this group.
+     *
+     * @param player The player to check.
+     * @return True if the player is a member of this group.
+     * @throws NullPointerException if the player is null.
+     */
+    public boolean contains(@NotNull Player player) {
+        Preconditions.checkNotNull(player, "Player cannot be null");
+        return indexOf(player.getUniqueId()) >= 0;
+    }
+
+    /**
+     * Removes all the players from this group.
+     */
+    public synchronized void clear() {
+        members = new UUID[0];
+    }
+
+    /**
+     * Gets the number of members of this group, online or not.
+     *
+     * @return The number of members of this group.
+     */
+    public int size() {
+        return members.length;
+    }
+
+    /**
+     * Gets the {@link UUID}s of the members of this group.
+     *
+     * @return An unmodifiable snapshot of the members of this group.
+     */
+    public List<UUID> getMembers() {
+        return List.of(members);
+    }
+
+    /**
+     * Gets the cached audiences of the members of this group that are currently online.
+     * The members are read from a snapshot, so the group can be changed while something is being sent to it.
+     *
+     * @return The audiences of the online members of this group.
+     */
+    @Override
+    public @NotNull Iterable<? extends Audience> audiences() {
+        UUID[] snapshot = members;
+        List<Audience> online = new ArrayList<>(snapshot.length);
+        for (UUID uuid : snapshot) {
+            Audience audience = text.cachedAudience(uuid);
+            if (audience != null) online.add(audience);
+        }
+        return online;
+    }
+
+    private int indexOf(UUID uuid) {
+        UUID[] snapshot = members;
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i].equals(uuid)) return i;
+        }
+        return -1;
+    }
+}
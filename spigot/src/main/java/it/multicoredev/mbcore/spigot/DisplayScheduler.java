@@ -0,0 +1,274 @@
+package it.multicoredev.mbcore.spigot;
+
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class DisplayScheduler {
+    private final Map<UUID, Display> displays = new ConcurrentHashMap<>();
+    private final Queue<Display> dirty = new ConcurrentLinkedQueue<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final BukkitTask task;
+    private volatile boolean stopped = false;
+
+    DisplayScheduler(@NotNull Plugin plugin) {
+        task = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, 1, 1);
+    }
+
+    /**
+     * Gets the display of a player.
+     * Action bars and title parts sent to the returned {@link Audience} are held until the end of the tick,
+     * everything else is forwarded to the player right away.
+     * Once the scheduler is shut down the displays forward everything to the player right away.
+     *
+     * @param uuid     The {@link UUID} of the player.
+     * @param audience The audience of the player.
+     * @return The display of the player.
+     */
+    Audience display(@NotNull UUID uuid, @NotNull Audience audience) {
+        if (stopped) return audience;
+        return displays.computeIfAbsent(uuid, k -> new Display(audience));
+    }
+
+    /**
+     * Drops the display of a player, discarding anything still pending.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    void remove(@NotNull UUID uuid) {
+        Display display = displays.remove(uuid);
+        if (display != null) display.discard();
+    }
+
+    /**
+     * Sends every pending action bar and title part.
+     * This is called at the end of every tick, and before the scheduler shuts down.
+     */
+    public void flush() {
+        Display display;
+        while ((display = dirty.poll()) != null) {
+            display.flush();
+        }
+    }
+
+    /**
+     * Sends every pending action bar and title part and stops the scheduler.
+     * The displays already handed out keep working, forwarding everything to the players right away.
+     */
+    void shutdown() {
+        stopped = true;
+        task.cancel();
+        for (Display display : displays.values()) display.passThrough();
+        flush();
+        displays.clear();
+    }
+
+    /**
+     * Gets the number of packets sent by the scheduler.
+     *
+     * @return The number of action bar and title part packets sent.
+     */
+    public long getSent() {
+        return sent.sum();
+    }
+
+    /**
+     * Gets the number of updates that were replaced by a newer one before being sent.
+     *
+     * @return The number of dropped updates.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private final class Display implements ForwardingAudience.Single {
+        private final Audience audience;
+        private Component actionBar;
+        private Component title;
+        private Component subtitle;
+        private Title.Times times;
+        private boolean queued;
+        private boolean discarded;
+        private boolean passThrough;
+
+        private Display(Audience audience) {
+            this.audience = audience;
+        }
+
+        @Override
+        public @NotNull Audience audience() {
+            return audience;
+        }
+
+        @Override
+        public void sendActionBar(@NotNull Component message) {
+            synchronized (this) {
+                if (passThrough) {
+                    audience.sendActionBar(message);
+                    return;
+                }
+
+                if (actionBar != null) dropped.increment();
+                actionBar = message;
+                schedule();
+            }
+        }
+
+        @Override
+        public <T> void sendTitlePart(@NotNull TitlePart<T> part, @NotNull T value) {
+            synchronized (this) {
+                if (passThrough) {
+                    audience.sendTitlePart(part, value);
+                    return;
+                }
+
+                if (part == TitlePart.TITLE) {
+                    if (title != null) dropped.increment();
+                    title = (Component) value;
+                } else if (part == TitlePart.SUBTITLE) {
+                    if (subtitle != null) dropped.increment();
+                    subtitle = (Component) value;
+                } else if (part == TitlePart.TIMES) {
+                    if (times != null) dropped.increment();
+                    times = (Title.Times) value;
+                } else {
+                    audience.sendTitlePart(part, value);
+                    return;
+                }
+
+                schedule();
+            }
+        }
+
+        @Override
+        public void showTitle(@NotNull Title title) {
+            Title.Times times = title.times();
+            if (times != null) sendTitlePart(TitlePart.TIMES, times);
+            sendTitlePart(TitlePart.SUBTITLE, title.subtitle());
+            sendTitlePart(TitlePart.TITLE, title.title());
+        }
+
+        @Override
+        public void clearTitle() {
+            synchronized (this) {
+                title = null;
+                subtitle = null;
+                audience.clearTitle();
+            }
+        }
+
+        @Override
+        public void resetTitle() {
+            synchronized (this) {
+                title = null;
+                subtitle = null;
+                times = null;
+                audience.resetTitle();
+            }
+        }
+
+        private void schedule() {
+            if (queued || discarded) return;
+            queued = true;
+            dirty.add(this);
+        }
+
+        private void passThrough() {
+            synchronized (this) {
+                passThrough = true;
+            }
+        }
+
+        private void discard() {
+            synchronized (this) {
+                discarded = true;
+                actionBar = null;
+                title = null;
+                subtitle = null;
+                times = null;
+            }
+        }
+
+        private void flush() {
+            Component actionBar;
+            Component title;
+            Component subtitle;
+            Title.Times times;
+
+            synchronized (this) {
+                queued = false;
+                if (discarded) return;
+
+                actionBar = this.actionBar;
+                title = this.title;
+                subtitle = this.subtitle;
+                times = this.times;
+                this.actionBar = null;
+                this.title = null;
+                this.subtitle = null;
+                this.times = null;
+            }
+
+            if (actionBar != null) {
+                audience.sendActionBar(actionBar);
+                sent.increment();
+            }
+            if (times != null) {
+                audience.sendTitlePart(TitlePart.TIMES, times);
+                sent.increment();
+            }
+            if (subtitle != null) {
+                audience.sendTitlePart(TitlePart.SUBTITLE, subtitle);
+                sent.increment();
+            }
+            if (title != null) {
+                audience.sendTitlePart(TitlePart.TITLE, title);
+                sent.increment();
+            }
+        }
+    }
+}
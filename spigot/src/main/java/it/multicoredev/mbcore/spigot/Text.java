@@ -1,29 +1,56 @@
 package it.multicoredev.mbcore.spigot;
 
 import com.google.common.base.Preconditions;
+import it.multicoredev.mbcore.spigot.util.ComponentCache;
+import it.multicoredev.mbcore.spigot.util.PermissionCache;
+import it.multicoredev.mbcore.spigot.util.StaticTagResolver;
+import it.multicoredev.mbcore.spigot.util.TemplateCache;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.title.Title;
 import net.kyori.adventure.title.TitlePart;
+import org.bukkit.Bukkit;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.CharBuffer;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * BSD 3-Clause License
@@ -58,13 +85,46 @@ import java.util.regex.Pattern;
 public class Text {
     private static final MiniMessage miniMessage = MiniMessage.miniMessage();
     private static final LegacyComponentSerializer legacySerializer = LegacyComponentSerializer.legacyAmpersand();
-    private static final Pattern STRIP_COLOR_PATTERN = Pattern.compile("(?i)[§&][0-9A-FK-ORX]");
+    private static final String[] LEGACY_TAGS = new String[128];
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final int MAX_BUILDER_CAPACITY = 8192;
+    private static final BiFunction<String, TagResolver, Component> PARSER = (text, tagResolver) -> tagResolver == null ? miniMessage.deserialize(text) : miniMessage.deserialize(text, tagResolver);
+    private static final BiFunction<String, TagResolver, String> STRIPPER = (text, tagResolver) -> tagResolver == null ? miniMessage.stripTags(text) : miniMessage.stripTags(text, tagResolver);
+    private static final BiFunction<String, TagResolver, String> LEGACY_SERIALIZER = (text, tagResolver) -> legacySerializer.serialize(deserialize(text, tagResolver));
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static volatile ComponentCache cache = new ComponentCache();
+    private static volatile TemplateCache<String> strippedCache = new TemplateCache<>();
+    private static volatile TemplateCache<String> legacyCache = new TemplateCache<>();
+
+    static {
+        String codes = "0123456789abcdefklmnor";
+        String[] tags = {"<black>", "<dark_blue>", "<dark_green>", "<dark_aqua>", "<dark_red>", "<dark_purple>", "<gold>", "<grey>",
+                "<dark_grey>", "<blue>", "<green>", "<aqua>", "<red>", "<light_purple>", "<yellow>", "<white>",
+                "<obf>", "<b>", "<st>", "<u>", "<i>", "<reset>"};
+
+        for (int i = 0; i < codes.length(); i++) {
+            LEGACY_TAGS[codes.charAt(i)] = tags[i];
+            LEGACY_TAGS[Character.toUpperCase(codes.charAt(i))] = tags[i];
+        }
+    }
 
     private static Text instance = null;
+    private final Plugin plugin;
     private final BukkitAudiences audiences;
+    private final Map<UUID, Audience> playerAudiences = new ConcurrentHashMap<>();
+    private final AudienceListener audienceListener = new AudienceListener();
+    private PermissionCache permissionCache = null;
+    private DisplayScheduler displayScheduler = null;
+    private BukkitTask permissionCacheTask = null;
 
     private Text(Plugin plugin) {
+        this.plugin = plugin;
         audiences = BukkitAudiences.create(plugin);
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            playerAudiences.put(player.getUniqueId(), audiences.player(player));
+        }
+        Bukkit.getPluginManager().registerEvents(audienceListener, plugin);
     }
 
     /**
@@ -106,9 +166,103 @@ public class Text {
             instance.audiences.close();
         }
 
+        HandlerList.unregisterAll(instance.audienceListener);
+        instance.playerAudiences.clear();
+        instance.disablePermissionCache();
+        instance.disableDisplayScheduler();
         instance = null;
     }
 
+    /**
+     * Gets the {@link Audience} of a {@link CommandSender} or a {@link Player}.
+     * The audiences of the online players are cached from when they join until they quit.
+     *
+     * @param sender The sender to get the audience of.
+     * @return The audience of the sender.
+     * @throws NullPointerException if the sender is null.
+     */
+    public Audience getAudience(@NotNull CommandSender sender) {
+        Preconditions.checkNotNull(sender, "Sender cannot be null");
+        return audience(sender);
+    }
+
+    /**
+     * Creates an empty group of players that can be used as a single {@link Audience}.
+     * Members stay in the group when they quit, but only the online members receive what is sent to the group.
+     *
+     * @return The created {@link AudienceGroup}.
+     */
+    public AudienceGroup createGroup() {
+        return new AudienceGroup(this);
+    }
+
+    /**
+     * Enables the cache of the permission checks made by the permission broadcasts.
+     * Every permission of every player is checked at most once per tick, the cache is cleared at the start of every tick.
+     * Checks made outside the main thread are never cached.
+     */
+    public void enablePermissionCache() {
+        if (permissionCache != null) return;
+
+        permissionCache = new PermissionCache();
+        permissionCacheTask = Bukkit.getScheduler().runTaskTimer(plugin, permissionCache::clear, 1, 1);
+    }
+
+    /**
+     * Disables the cache of the permission checks made by the permission broadcasts.
+     */
+    public void disablePermissionCache() {
+        if (permissionCache == null) return;
+
+        permissionCacheTask.cancel();
+        permissionCacheTask = null;
+        permissionCache = null;
+    }
+
+    /**
+     * Gets the cache of the permission checks made by the permission broadcasts.
+     *
+     * @return The {@link PermissionCache} or null if the cache is disabled.
+     */
+    @Nullable
+    public PermissionCache getPermissionCache() {
+        return permissionCache;
+    }
+
+    /**
+     * Enables the scheduling of the action bars and titles sent to the players.
+     * The updates sent to a player during a tick are coalesced and sent together at the end of the tick:
+     * only the last action bar, title, subtitle and title times of the tick are sent.
+     */
+    public void enableDisplayScheduler() {
+        if (displayScheduler != null) return;
+
+        displayScheduler = new DisplayScheduler(plugin);
+    }
+
+    /**
+     * Disables the scheduling of the action bars and titles sent to the players.
+     * Any pending update is sent before the scheduler is stopped, and the audiences already handed out
+     * send the following updates right away.
+     */
+    public void disableDisplayScheduler() {
+        if (displayScheduler == null) return;
+
+        DisplayScheduler scheduler = displayScheduler;
+        displayScheduler = null;
+        scheduler.shutdown();
+    }
+
+    /**
+     * Gets the scheduler of the action bars and titles sent to the players.
+     *
+     * @return The {@link DisplayScheduler} or null if the scheduler is disabled.
+     */
+    @Nullable
+    public DisplayScheduler getDisplayScheduler() {
+        return displayScheduler;
+    }
+
     /**
      * Concatenates elements of a string array into a single string starting from a specific offset.
      *
@@ -146,6 +300,7 @@ public class Text {
 
     /**
      * Removes all known tags in the input MiniMessage text, so that they are ignored in deserialization.
+     * Texts without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)}) are cached.
      *
      * @param text        The text with tags to remove.
      * @param tagResolver The {@link TagResolver} for any additional tags to handle.
@@ -153,8 +308,8 @@ public class Text {
      */
     public static String stripFormatting(String text, TagResolver tagResolver) {
         if (text == null) return null;
-        if (tagResolver == null) return miniMessage.stripTags(text);
-        return miniMessage.stripTags(text, tagResolver);
+        if (tagResolver == null || tagResolver instanceof StaticTagResolver) return strippedCache.get(text, tagResolver, STRIPPER);
+        return STRIPPER.apply(text, tagResolver);
     }
 
     /**
@@ -207,17 +362,7 @@ public class Text {
      * null if the input iterable is null.
      */
     public static <C extends Collection<String>> C stripFormatting(C collection, TagResolver tagResolver) {
-        if (collection == null) return null;
-
-        List<String> texts = new ArrayList<>();
-        for (String text : collection) {
-            texts.add(stripFormatting(text, tagResolver));
-        }
-
-        collection.clear();
-        collection.addAll(texts);
-
-        return collection;
+        return convert(collection, text -> stripFormatting(text, tagResolver));
     }
 
     /**
@@ -232,20 +377,121 @@ public class Text {
         return stripFormatting(collection, null);
     }
 
+    /**
+     * Removes all known tags in the input MiniMessage texts and writes the results in the output array.
+     * The input array is not modified.
+     *
+     * @param texts       The texts with tags to remove.
+     * @param output      The array to write the texts without tags to, it can be the input array itself.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return The output array.
+     * @throws NullPointerException     if the texts or the output is null.
+     * @throws IllegalArgumentException if the output is shorter than the texts.
+     */
+    public static String[] stripFormatting(@NotNull String[] texts, @NotNull String[] output, TagResolver tagResolver) {
+        return convert(texts, output, text -> stripFormatting(text, tagResolver));
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts and passes the results to the output, one at a time and in order.
+     * The input texts are not modified.
+     *
+     * @param texts       The texts with tags to remove.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param output      The consumer of the texts without tags, for example a collection's add method.
+     * @throws NullPointerException if the texts or the output is null.
+     */
+    public static void stripFormatting(@NotNull Iterable<String> texts, TagResolver tagResolver, @NotNull Consumer<? super String> output) {
+        convert(texts, output, text -> stripFormatting(text, tagResolver));
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts using the common fork-join pool.
+     * Worth it for long lists like lore or book pages, shorter lists are processed on the calling thread.
+     * The input list is not modified.
+     *
+     * @param texts       The texts with tags to remove.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle, it must be thread-safe.
+     * @return A new list with the texts without tags, in the same order as the input.
+     * @throws NullPointerException if the texts is null.
+     */
+    public static List<String> stripFormattingParallel(@NotNull List<String> texts, TagResolver tagResolver) {
+        return convertParallel(texts, text -> stripFormatting(text, tagResolver));
+    }
+
     /**
      * Removes all legacy formatting tag in the input text, so that they are ignored in deserialization.
+     * Both &amp; and § codes are removed, including the &amp;#RRGGBB and &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B hex colors.
      *
      * @param text The text with tags to remove.
-     * @return The text without tags. null if the input text is null.
+     * @return The text without tags, the same instance if the text has no tags. null if the input text is null.
      */
     public static String stripLegacyFormatting(String text) {
         if (text == null) return null;
 
-        /*for (char c : legacyChars) {
-            text = text.replaceAll(c + legacyColorCodes, "");
-        }*/
+        int length = text.length();
+        int i = 0;
+        while (i < length && legacyCodeLength(text, i, length) == 0) i++;
+        if (i == length) return text;
+
+        StringBuilder builder = builder(length);
+        builder.append(text, 0, i);
+
+        while (i < length) {
+            int code = legacyCodeLength(text, i, length);
+            if (code > 0) {
+                i += code;
+                continue;
+            }
+
+            builder.append(text.charAt(i++));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Removes all legacy formatting tag in a range of a char array, in place.
+     * The remaining chars are moved to the start of the range, the chars after the returned length are left untouched.
+     *
+     * @param chars  The chars with tags to remove.
+     * @param offset The start of the range.
+     * @param length The length of the range.
+     * @return The length of the range without tags.
+     * @throws NullPointerException      if the chars are null.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public static int stripLegacyFormatting(@NotNull char[] chars, int offset, int length) {
+        Preconditions.checkNotNull(chars, "Chars cannot be null");
+        Preconditions.checkPositionIndexes(offset, offset + length, chars.length);
+
+        CharSequence sequence = CharBuffer.wrap(chars);
+        int end = offset + length;
+        int write = offset;
+
+        for (int read = offset; read < end; ) {
+            int code = legacyCodeLength(sequence, read, end);
+            if (code > 0) {
+                read += code;
+                continue;
+            }
+
+            chars[write++] = chars[read++];
+        }
+
+        return write - offset;
+    }
 
-        return text;
+    /**
+     * Removes all legacy formatting tag in a char array, in place.
+     *
+     * @param chars The chars with tags to remove.
+     * @return The length of the text without tags, stored at the start of the array.
+     * @throws NullPointerException if the chars are null.
+     */
+    public static int stripLegacyFormatting(@NotNull char[] chars) {
+        Preconditions.checkNotNull(chars, "Chars cannot be null");
+        return stripLegacyFormatting(chars, 0, chars.length);
     }
 
     /**
@@ -274,22 +520,12 @@ public class Text {
      * null if the input iterable is null.
      */
     public static <C extends Collection<String>> C stripLegacyFormatting(C collection) {
-        if (collection == null) return null;
-
-        List<String> texts = new ArrayList<>();
-
-        for (String text : collection) {
-            texts.add(stripLegacyFormatting(text));
-        }
-
-        collection.clear();
-        collection.addAll(texts);
-
-        return collection;
+        return convert(collection, Text::stripLegacyFormatting);
     }
 
     /**
      * Serializes a text to a legacy ampersand string.
+     * Texts without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)}) are cached.
      *
      * @param text        The text to serialize.
      * @param tagResolver The {@link TagResolver} for any additional tags to handle.
@@ -298,9 +534,8 @@ public class Text {
      */
     public static String toLegacyText(String text, TagResolver tagResolver) {
         if (text == null) return null;
-
-        if (tagResolver == null) return legacySerializer.serialize(miniMessage.deserialize(text));
-        return legacySerializer.serialize(miniMessage.deserialize(text, tagResolver));
+        if (tagResolver == null || tagResolver instanceof StaticTagResolver) return legacyCache.get(text, tagResolver, LEGACY_SERIALIZER);
+        return LEGACY_SERIALIZER.apply(text, tagResolver);
     }
 
     /**
@@ -353,18 +588,7 @@ public class Text {
      * null if the input iterable is null.
      */
     public static <C extends Collection<String>> C toLegacyText(C collection, TagResolver tagResolver) {
-        if (collection == null) return null;
-
-        List<String> texts = new ArrayList<>();
-
-        for (String text : collection) {
-            texts.add(toLegacyText(text, tagResolver));
-        }
-
-        collection.clear();
-        collection.addAll(texts);
-
-        return collection;
+        return convert(collection, text -> toLegacyText(text, tagResolver));
     }
 
     /**
@@ -379,8 +603,51 @@ public class Text {
         return toLegacyText(collection, null);
     }
 
+    /**
+     * Serializes texts to legacy ampersand strings and writes the results in the output array.
+     * The input array is not modified.
+     *
+     * @param texts       The texts to serialize.
+     * @param output      The array to write the serialized texts to, it can be the input array itself.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return The output array.
+     * @throws NullPointerException     if the texts or the output is null.
+     * @throws IllegalArgumentException if the output is shorter than the texts.
+     */
+    public static String[] toLegacyText(@NotNull String[] texts, @NotNull String[] output, TagResolver tagResolver) {
+        return convert(texts, output, text -> toLegacyText(text, tagResolver));
+    }
+
+    /**
+     * Serializes texts to legacy ampersand strings and passes the results to the output, one at a time and in order.
+     * The input texts are not modified.
+     *
+     * @param texts       The texts to serialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param output      The consumer of the serialized texts, for example a collection's add method.
+     * @throws NullPointerException if the texts or the output is null.
+     */
+    public static void toLegacyText(@NotNull Iterable<String> texts, TagResolver tagResolver, @NotNull Consumer<? super String> output) {
+        convert(texts, output, text -> toLegacyText(text, tagResolver));
+    }
+
+    /**
+     * Serializes texts to legacy ampersand strings using the common fork-join pool.
+     * Worth it for long lists like lore or book pages, shorter lists are processed on the calling thread.
+     * The input list is not modified.
+     *
+     * @param texts       The texts to serialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle, it must be thread-safe.
+     * @return A new list with the serialized texts, in the same order as the input.
+     * @throws NullPointerException if the texts is null.
+     */
+    public static List<String> toLegacyTextParallel(@NotNull List<String> texts, TagResolver tagResolver) {
+        return convertParallel(texts, text -> toLegacyText(text, tagResolver));
+    }
+
     /**
      * Converts a legacy text to a MiniMessage text.
+     * Both &amp; and § codes are converted, including the &amp;#RRGGBB and &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B hex colors.
      *
      * @param text The text to convert.
      * @return the converted text or null if the input text is null.
@@ -388,40 +655,128 @@ public class Text {
     public static String toMiniMessage(String text) {
         if (text == null) return null;
 
-        StringBuilder builder = new StringBuilder(text);
-        Matcher matcher = STRIP_COLOR_PATTERN.matcher(builder);
-
-        while (matcher.find()) {
-            builder.replace(matcher.start(), matcher.end(), builder.substring(matcher.start(), matcher.end()).toLowerCase().replace("§", "&"));
-        }
-
-        return builder.toString()
-                .replace("&0", "<black>")
-                .replace("&1", "<dark_blue>")
-                .replace("&2", "<dark_green>")
-                .replace("&3", "<dark_aqua>")
-                .replace("&4", "<dark_red>")
-                .replace("&5", "<dark_purple>")
-                .replace("&6", "<gold>")
-                .replace("&7", "<grey>")
-                .replace("&8", "<dark_grey>")
-                .replace("&9", "<blue>")
-                .replace("&a", "<green>")
-                .replace("&b", "<aqua>")
-                .replace("&c", "<red>")
-                .replace("&d", "<light_purple>")
-                .replace("&e", "<yellow>")
-                .replace("&f", "<white>")
-                .replace("&k", "<obf>")
-                .replace("&l", "<b>")
-                .replace("&m", "<st>")
-                .replace("&n", "<u>")
-                .replace("&o", "<i>")
-                .replace("&r", "<reset>");
+        int length = text.length();
+        StringBuilder builder = builder(length + 16);
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if ((c == '&' || c == '§') && i + 1 < length) {
+                char code = text.charAt(i + 1);
+
+                if (code == '#' && isHex(text, length, i + 2, 6, 1)) {
+                    builder.append("<#").append(text, i + 2, i + 8).append('>');
+                    i += 7;
+                    continue;
+                }
+
+                if ((code == 'x' || code == 'X') && isHex(text, length, i + 3, 6, 2)) {
+                    builder.append("<#");
+                    for (int j = i + 3; j < i + 14; j += 2) builder.append(text.charAt(j));
+                    builder.append('>');
+                    i += 13;
+                    continue;
+                }
+
+                String tag = code < LEGACY_TAGS.length ? LEGACY_TAGS[code] : null;
+                if (tag != null) {
+                    builder.append(tag);
+                    i++;
+                    continue;
+                }
+
+                if (code == 'x' || code == 'X') {
+                    builder.append("&x");
+                    i++;
+                    continue;
+                }
+            }
+
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    private static int legacyCodeLength(CharSequence text, int index, int end) {
+        char c = text.charAt(index);
+        if ((c != '&' && c != '§') || index + 1 >= end) return 0;
+
+        char code = text.charAt(index + 1);
+        if (code == '#') return isHex(text, end, index + 2, 6, 1) ? 8 : 0;
+        if (code == 'x' || code == 'X') return isHex(text, end, index + 3, 6, 2) ? 14 : 2;
+        return code < LEGACY_TAGS.length && LEGACY_TAGS[code] != null ? 2 : 0;
+    }
+
+    private static boolean isHex(CharSequence text, int end, int offset, int digits, int step) {
+        if (offset + (digits - 1) * step >= end) return false;
+
+        for (int i = 0; i < digits; i++) {
+            int index = offset + i * step;
+            if (step == 2) {
+                char prefix = text.charAt(index - 1);
+                if (prefix != '&' && prefix != '§') return false;
+            }
+
+            char c = text.charAt(index);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+        }
+
+        return true;
+    }
+
+    private static StringBuilder builder(int capacity) {
+        StringBuilder builder = BUILDER.get();
+        if (builder.capacity() > MAX_BUILDER_CAPACITY) {
+            builder = new StringBuilder(capacity);
+            BUILDER.set(builder);
+        }
+
+        builder.setLength(0);
+        builder.ensureCapacity(capacity);
+        return builder;
+    }
+
+    /**
+     * Wraps a {@link TagResolver} whose tags always resolve to the same values, so the texts deserialized with it can be
+     * cached like the texts without a resolver. The returned resolver must be kept and reused, every call creates a
+     * new cache key.
+     *
+     * @param tagResolver The {@link TagResolver} to wrap.
+     * @return The static {@link TagResolver}.
+     */
+    public static StaticTagResolver staticResolver(@NotNull TagResolver tagResolver) {
+        Preconditions.checkNotNull(tagResolver, "TagResolver cannot be null");
+        if (tagResolver instanceof StaticTagResolver) return (StaticTagResolver) tagResolver;
+        return new StaticTagResolver(tagResolver);
+    }
+
+    /**
+     * Gets the cache of the deserialized texts.
+     * Texts deserialized without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)})
+     * are parsed once and then served from this cache.
+     *
+     * @return The {@link ComponentCache} used by the deserialize methods.
+     */
+    public static ComponentCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Replaces the cache of the deserialized texts, and the caches of the stripped and legacy texts, with new empty ones.
+     *
+     * @param maximumSize The maximum number of cached texts.
+     * @throws IllegalArgumentException if the maximum size is lower than 1.
+     */
+    public static void setCacheSize(int maximumSize) {
+        cache = new ComponentCache(maximumSize);
+        strippedCache = new TemplateCache<>(maximumSize);
+        legacyCache = new TemplateCache<>(maximumSize);
     }
 
     /**
      * Deserializes a MiniMessage text.
+     * Texts without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)}) are cached.
      *
      * @param text        The text to deserialize.
      * @param tagResolver The {@link TagResolver} for any additional tags to handle.
@@ -430,7 +785,8 @@ public class Text {
      */
     public static Component deserialize(String text, TagResolver tagResolver) {
         if (text == null) return null;
-        if (tagResolver == null) return miniMessage.deserialize(text);
+        if (tagResolver == TagResolver.empty()) tagResolver = null;
+        if (tagResolver == null || tagResolver instanceof StaticTagResolver) return cache.get(text, tagResolver, PARSER);
         return miniMessage.deserialize(text, tagResolver);
     }
 
@@ -575,9 +931,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(receiver, "Receiver cannot be null");
 
-        Audience audience;
-        if (receiver instanceof Player) audience = audiences.player((Player) receiver);
-        else audience = audiences.sender(receiver);
+        Audience audience = audience(receiver);
 
         audience.sendMessage(deserialize(text, tagResolver));
     }
@@ -664,6 +1018,74 @@ public class Text {
         send(text, receiver, null, sender, permissions);
     }
 
+    /**
+     * Sends a component to a {@link CommandSender} or a {@link Player}.
+     *
+     * @param component The component to send.
+     * @param receiver  The receiver of the component.
+     * @throws NullPointerException if the component or the receiver is null.
+     */
+    public void send(@NotNull Component component, @NotNull CommandSender receiver) {
+        Preconditions.checkNotNull(component, "Component cannot be null");
+        Preconditions.checkNotNull(receiver, "Receiver cannot be null");
+
+        audience(receiver).sendMessage(component);
+    }
+
+    /**
+     * Sends a compiled text with empty slots to a {@link CommandSender} or a {@link Player}.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSender receiver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.asComponent(), receiver);
+    }
+
+    /**
+     * Sends a compiled text to a {@link CommandSender} or a {@link Player}.
+     * The slots of the text are filled with the provided values, in the same order of the slots, without parsing the text again.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @param values   The values of the slots.
+     * @throws NullPointerException if the text, the receiver or the values is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSender receiver, @NotNull ComponentLike... values) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.render(values), receiver);
+    }
+
+    /**
+     * Sends a compiled text to a {@link CommandSender} or a {@link Player}.
+     * The slots of the text are filled with the provided values as plain text, in the same order of the slots, without parsing the text again.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @param values   The values of the slots.
+     * @throws NullPointerException if the text, the receiver or the values is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSender receiver, @NotNull String... values) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.render(values), receiver);
+    }
+
+    /**
+     * Sends a compiled text to a {@link CommandSender} or a {@link Player}.
+     * The slots of the text are filled with the values mapped to their names, without parsing the text again.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @param values   The values of the slots by slot name.
+     * @throws NullPointerException if the text, the receiver or the values is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSender receiver, @NotNull Map<String, ? extends ComponentLike> values) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.render(values), receiver);
+    }
+
     /* -------------------------------------------------------------------------------------------------------------------------------------------- */
     /*    SEND TO MULTIPLE RECEIVERS (ARRAY)    */
     /* -------------------------------------------------------------------------------------------------------------------------------------------- */
@@ -678,12 +1100,11 @@ public class Text {
      * @throws NullPointerException if the text or the receivers is null.
      */
     public void send(@NotNull String text, @NotNull CommandSender[] receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.length == 0) return;
 
-        for (CommandSender receiver : receivers) {
-            if (receiver == null) continue;
-            send(text, receiver, tagResolver);
-        }
+        audience(receivers).sendMessage(deserialize(text, tagResolver));
     }
 
     /**
@@ -782,12 +1203,11 @@ public class Text {
      * @throws NullPointerException if the text or the receivers is null.
      */
     public <R extends Collection<? extends CommandSender>> void send(@NotNull String text, @NotNull R receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.isEmpty()) return;
 
-        for (CommandSender receiver : receivers) {
-            if (receiver == null) continue;
-            send(text, receiver, tagResolver);
-        }
+        audience(receivers).sendMessage(deserialize(text, tagResolver));
     }
 
     /**
@@ -891,9 +1311,7 @@ public class Text {
 
         if (texts.length == 0) return;
 
-        Audience audience;
-        if (receiver instanceof Player) audience = audiences.player((Player) receiver);
-        else audience = audiences.sender(receiver);
+        Audience audience = audience(receiver);
 
         for (String text : texts) {
             if (text == null) continue;
@@ -997,10 +1415,14 @@ public class Text {
      * @throws NullPointerException if the texts or the receivers is null.
      */
     public void send(@NotNull String[] texts, @NotNull CommandSender[] receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
         Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (texts.length == 0 || receivers.length == 0) return;
 
-        for (CommandSender receiver : receivers) {
-            send(texts, receiver, tagResolver);
+        Audience audience = audience(receivers);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -1100,11 +1522,14 @@ public class Text {
      * @throws NullPointerException if the texts or the receivers is null.
      */
     public <R extends Collection<? extends CommandSender>> void send(@NotNull String[] texts, @NotNull R receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
         Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (texts.length == 0 || receivers.isEmpty()) return;
 
-        for (CommandSender receiver : receivers) {
-            if (receiver == null) continue;
-            send(texts, receiver, tagResolver);
+        Audience audience = audience(receivers);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -1209,9 +1634,7 @@ public class Text {
 
         if (texts.isEmpty()) return;
 
-        Audience audience;
-        if (receiver instanceof Player) audience = audiences.player((Player) receiver);
-        else audience = audiences.sender(receiver);
+        Audience audience = audience(receiver);
 
         for (String text : texts) {
             if (text == null) continue;
@@ -1315,11 +1738,14 @@ public class Text {
      * @throws NullPointerException if the texts or the receivers is null.
      */
     public <T extends Collection<String>> void send(@NotNull T texts, @NotNull CommandSender[] receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
         Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (texts.isEmpty() || receivers.length == 0) return;
 
-        for (CommandSender receiver : receivers) {
-            if (receiver == null) continue;
-            send(texts, receiver, tagResolver);
+        Audience audience = audience(receivers);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -1419,11 +1845,14 @@ public class Text {
      * @throws NullPointerException if the texts or the receivers is null.
      */
     public <T extends Collection<String>, R extends Collection<? extends CommandSender>> void send(@NotNull T texts, @NotNull R receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
         Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (texts.isEmpty() || receivers.isEmpty()) return;
 
-        for (CommandSender receiver : receivers) {
-            if (receiver == null) continue;
-            send(texts, receiver, tagResolver);
+        Audience audience = audience(receivers);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -2450,10 +2879,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(neededPermissions, "Needed permission cannot be null");
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-            audiences.permission(permission).sendMessage(deserialize(text, tagResolver));
-        }
+        permissionAudience(neededPermissions).sendMessage(deserialize(text, tagResolver));
     }
 
     /**
@@ -2556,14 +2982,10 @@ public class Text {
 
         if (texts.length == 0) return;
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-
-            Audience audience = audiences.permission(permission);
-            for (String text : texts) {
-                if (text == null) continue;
-                audience.sendMessage(deserialize(text, tagResolver));
-            }
+        Audience audience = permissionAudience(neededPermissions);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -2665,14 +3087,10 @@ public class Text {
 
         if (texts.isEmpty()) return;
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-
-            Audience audience = audiences.permission(permission);
-            for (String text : texts) {
-                if (text == null) continue;
-                audience.sendMessage(deserialize(text, tagResolver));
-            }
+        Audience audience = permissionAudience(neededPermissions);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -2773,10 +3191,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(neededPermissions, "Needed permission cannot be null");
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-            audiences.permission(permission).sendMessage(deserialize(text, tagResolver));
-        }
+        permissionAudience(neededPermissions).sendMessage(deserialize(text, tagResolver));
     }
 
     /**
@@ -2879,14 +3294,10 @@ public class Text {
 
         if (texts.length == 0) return;
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-
-            Audience audience = audiences.permission(permission);
-            for (String text : texts) {
-                if (text == null) continue;
-                audience.sendMessage(deserialize(text, tagResolver));
-            }
+        Audience audience = permissionAudience(neededPermissions);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -2988,14 +3399,10 @@ public class Text {
 
         if (texts.isEmpty()) return;
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-
-            Audience audience = audiences.permission(permission);
-            for (String text : texts) {
-                if (text == null) continue;
-                audience.sendMessage(deserialize(text, tagResolver));
-            }
+        Audience audience = permissionAudience(neededPermissions);
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
         }
     }
 
@@ -3096,9 +3503,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(receiver, "Receiver cannot be null");
 
-        Audience audience;
-        if (receiver instanceof Player) audience = audiences.player((Player) receiver);
-        else audience = audiences.sender(receiver);
+        Audience audience = audience(receiver);
 
         audience.sendActionBar(deserialize(text, tagResolver));
     }
@@ -3408,7 +3813,7 @@ public class Text {
     public void broadcastActionBar(@NotNull String text, TagResolver tagResolver) {
         Preconditions.checkNotNull(text, "Text cannot be null");
 
-        audiences.players().sendActionBar(deserialize(text, tagResolver));
+        displayAudience(audiences.players(), Bukkit.getOnlinePlayers(), null).sendActionBar(deserialize(text, tagResolver));
     }
 
     /**
@@ -3507,7 +3912,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(world, "World cannot be null");
 
-        audiences.world(Key.key(world.getKey().toString())).sendActionBar(deserialize(text, tagResolver));
+        displayAudience(audiences.world(Key.key(world.getKey().toString())), world.getPlayers(), null).sendActionBar(deserialize(text, tagResolver));
     }
 
     /**
@@ -3610,7 +4015,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(neededPermission, "Needed permission cannot be null");
 
-        audiences.permission(neededPermission).sendActionBar(deserialize(text, tagResolver));
+        displayAudience(audiences.permission(neededPermission), Bukkit.getOnlinePlayers(), neededPermission).sendActionBar(deserialize(text, tagResolver));
     }
 
     /**
@@ -3712,10 +4117,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(neededPermissions, "Needed permission cannot be null");
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-            audiences.permission(permission).sendActionBar(deserialize(text, tagResolver));
-        }
+        permissionAudience(neededPermissions).sendActionBar(deserialize(text, tagResolver));
     }
 
     /**
@@ -3817,10 +4219,7 @@ public class Text {
         Preconditions.checkNotNull(text, "Text cannot be null");
         Preconditions.checkNotNull(neededPermissions, "Needed permission cannot be null");
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-            audiences.permission(permission).sendActionBar(deserialize(text, tagResolver));
-        }
+        permissionAudience(neededPermissions).sendActionBar(deserialize(text, tagResolver));
     }
 
     /**
@@ -3927,9 +4326,7 @@ public class Text {
         Preconditions.checkArgument((title == null && subtitle != null) || (title != null && subtitle == null), "Both title and subtitle cannot be null simultaneously");
         Preconditions.checkNotNull(receiver, "Receiver cannot be null");
 
-        Audience audience;
-        if (receiver instanceof Player) audience = audiences.player((Player) receiver);
-        else audience = audiences.sender(receiver);
+        Audience audience = audience(receiver);
 
         if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
         if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
@@ -4646,7 +5043,7 @@ public class Text {
     public void broadcastTitle(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, TagResolver tagResolver) {
         Preconditions.checkArgument((title == null && subtitle != null) || (title != null && subtitle == null), "Both title and subtitle cannot be null simultaneously");
 
-        Audience audience = audiences.players();
+        Audience audience = displayAudience(audiences.players(), Bukkit.getOnlinePlayers(), null);
 
         if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
         if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
@@ -4879,7 +5276,7 @@ public class Text {
         Preconditions.checkArgument((title == null && subtitle != null) || (title != null && subtitle == null), "Both title and subtitle cannot be null simultaneously");
         Preconditions.checkNotNull(world, "World cannot be null");
 
-        Audience audience = audiences.world(Key.key(world.getKey().toString()));
+        Audience audience = displayAudience(audiences.world(Key.key(world.getKey().toString())), world.getPlayers(), null);
 
         if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
         if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
@@ -5122,7 +5519,7 @@ public class Text {
         Preconditions.checkArgument((title == null && subtitle != null) || (title != null && subtitle == null), "Both title and subtitle cannot be null simultaneously");
         Preconditions.checkNotNull(neededPermission, "Needed permission cannot be null");
 
-        Audience audience = audiences.permission(neededPermission);
+        Audience audience = displayAudience(audiences.permission(neededPermission), Bukkit.getOnlinePlayers(), neededPermission);
 
         if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
         if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
@@ -5365,17 +5762,14 @@ public class Text {
         Preconditions.checkArgument((title == null && subtitle != null) || (title != null && subtitle == null), "Both title and subtitle cannot be null simultaneously");
         Preconditions.checkNotNull(neededPermissions, "Needed permission cannot be null");
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-            Audience audience = audiences.permission(permission);
-            if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
-            if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
-            audience.sendTitlePart(TitlePart.TIMES, Title.Times.times(
-                    Duration.of(fadeIn != null ? fadeIn : 1000, ChronoUnit.MILLIS),
-                    Duration.of(stay != null ? stay : 3000, ChronoUnit.MILLIS),
-                    Duration.of(fadeOut != null ? fadeOut : 1000, ChronoUnit.MILLIS)
-            ));
-        }
+        Audience audience = permissionAudience(neededPermissions);
+        if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
+        if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
+        audience.sendTitlePart(TitlePart.TIMES, Title.Times.times(
+                Duration.of(fadeIn != null ? fadeIn : 1000, ChronoUnit.MILLIS),
+                Duration.of(stay != null ? stay : 3000, ChronoUnit.MILLIS),
+                Duration.of(fadeOut != null ? fadeOut : 1000, ChronoUnit.MILLIS)
+        ));
     }
 
     /**
@@ -5609,17 +6003,14 @@ public class Text {
         Preconditions.checkArgument((title == null && subtitle != null) || (title != null && subtitle == null), "Both title and subtitle cannot be null simultaneously");
         Preconditions.checkNotNull(neededPermissions, "Needed permission cannot be null");
 
-        for (String permission : neededPermissions) {
-            if (permission == null) continue;
-            Audience audience = audiences.permission(permission);
-            if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
-            if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
-            audience.sendTitlePart(TitlePart.TIMES, Title.Times.times(
-                    Duration.of(fadeIn != null ? fadeIn : 1000, ChronoUnit.MILLIS),
-                    Duration.of(stay != null ? stay : 3000, ChronoUnit.MILLIS),
-                    Duration.of(fadeOut != null ? fadeOut : 1000, ChronoUnit.MILLIS)
-            ));
-        }
+        Audience audience = permissionAudience(neededPermissions);
+        if (title != null) audience.sendTitlePart(TitlePart.TITLE, deserialize(title, tagResolver));
+        if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, deserialize(subtitle, tagResolver));
+        audience.sendTitlePart(TitlePart.TIMES, Title.Times.times(
+                Duration.of(fadeIn != null ? fadeIn : 1000, ChronoUnit.MILLIS),
+                Duration.of(stay != null ? stay : 3000, ChronoUnit.MILLIS),
+                Duration.of(fadeOut != null ? fadeOut : 1000, ChronoUnit.MILLIS)
+        ));
     }
 
     /**
@@ -5831,4 +6222,338 @@ public class Text {
     public <P extends Collection<String>> void broadcastTitle(String title, String subtitle, @NotNull P neededPermissions, @NotNull CommandSender sender, @NotNull String... permissions) {
         broadcastTitle(title, subtitle, null, null, null, null, neededPermissions, sender, permissions);
     }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    PERSONALIZED BROADCAST    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a text personalized for every {@link Player}.
+     * The texts are deserialized in parallel on the common fork-join pool, with the {@link TagResolver} provided for
+     * each player, and then sent on the main thread. The resolvers are created off the main thread too, so they
+     * must only read thread safe data.
+     *
+     * @param text      The text to send.
+     * @param resolvers The function that provides the {@link TagResolver} of each player.
+     * @return A future completed once the texts have been sent.
+     * @throws NullPointerException if the text or the resolvers is null.
+     */
+    public CompletableFuture<Void> broadcastPersonalized(@NotNull String text, @NotNull Function<Player, TagResolver> resolvers) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+
+        return personalize(new ArrayList<>(Bukkit.getOnlinePlayers()), player -> deserialize(text, resolvers.apply(player)), Audience::sendMessage);
+    }
+
+    /**
+     * Broadcasts a text personalized for every {@link Player} with a permission.
+     * The texts are deserialized in parallel on the common fork-join pool, with the {@link TagResolver} provided for
+     * each player, and then sent on the main thread. The resolvers are created off the main thread too, so they
+     * must only read thread safe data.
+     *
+     * @param text             The text to send.
+     * @param resolvers        The function that provides the {@link TagResolver} of each player.
+     * @param neededPermission The receiver must have this permission to receive the broadcast.
+     * @return A future completed once the texts have been sent.
+     * @throws NullPointerException if the text, the resolvers or the neededPermission is null.
+     */
+    public CompletableFuture<Void> broadcastPersonalized(@NotNull String text, @NotNull Function<Player, TagResolver> resolvers, @NotNull String neededPermission) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+        Preconditions.checkNotNull(neededPermission, "Needed permission cannot be null");
+
+        List<Player> players = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.hasPermission(neededPermission)) players.add(player);
+        }
+
+        return personalize(players, player -> deserialize(text, resolvers.apply(player)), Audience::sendMessage);
+    }
+
+    /**
+     * Sends a text personalized for every receiver.
+     * The texts are deserialized in parallel on the common fork-join pool, with the {@link TagResolver} provided for
+     * each player, and then sent on the main thread. The resolvers are created off the main thread too, so they
+     * must only read thread safe data.
+     *
+     * @param text      The text to send.
+     * @param receivers The receivers of the text.
+     * @param resolvers The function that provides the {@link TagResolver} of each player.
+     * @return A future completed once the texts have been sent.
+     * @throws NullPointerException if the text, the receivers or the resolvers is null.
+     */
+    public <R extends Collection<? extends Player>> CompletableFuture<Void> sendPersonalized(@NotNull String text, @NotNull R receivers, @NotNull Function<Player, TagResolver> resolvers) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+
+        return personalize(new ArrayList<>(receivers), player -> deserialize(text, resolvers.apply(player)), Audience::sendMessage);
+    }
+
+    /**
+     * Broadcasts an action bar text personalized for every {@link Player}.
+     * The texts are deserialized in parallel on the common fork-join pool, with the {@link TagResolver} provided for
+     * each player, and then sent on the main thread. The resolvers are created off the main thread too, so they
+     * must only read thread safe data.
+     *
+     * @param text      The text to send.
+     * @param resolvers The function that provides the {@link TagResolver} of each player.
+     * @return A future completed once the texts have been sent.
+     * @throws NullPointerException if the text or the resolvers is null.
+     */
+    public CompletableFuture<Void> broadcastActionBarPersonalized(@NotNull String text, @NotNull Function<Player, TagResolver> resolvers) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+
+        return personalize(new ArrayList<>(Bukkit.getOnlinePlayers()), player -> deserialize(text, resolvers.apply(player)), Audience::sendActionBar);
+    }
+
+    /**
+     * Broadcasts a title personalized for every {@link Player}.
+     * The titles are deserialized in parallel on the common fork-join pool, with the {@link TagResolver} provided for
+     * each player, and then sent on the main thread. The resolvers are created off the main thread too, so they
+     * must only read thread safe data.
+     *
+     * @param title     The title to send.
+     * @param subtitle  The subtitle to send.
+     * @param fadeIn    The time in milliseconds for the title to fade in. (default: 1000)
+     * @param stay      The time in milliseconds for the title to stay on screen. (default: 3000)
+     * @param fadeOut   The time in milliseconds for the title to fade out. (default: 1000)
+     * @param resolvers The function that provides the {@link TagResolver} of each player.
+     * @return A future completed once the titles have been sent.
+     * @throws NullPointerException     if the resolvers is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public CompletableFuture<Void> broadcastTitlePersonalized(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, @NotNull Function<Player, TagResolver> resolvers) {
+        Preconditions.checkArgument(title != null || subtitle != null, "Both title and subtitle cannot be null simultaneously");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+
+        Title.Times times = Title.Times.times(
+                Duration.of(fadeIn != null ? fadeIn : 1000, ChronoUnit.MILLIS),
+                Duration.of(stay != null ? stay : 3000, ChronoUnit.MILLIS),
+                Duration.of(fadeOut != null ? fadeOut : 1000, ChronoUnit.MILLIS)
+        );
+
+        return personalize(new ArrayList<>(Bukkit.getOnlinePlayers()), player -> {
+            TagResolver tagResolver = resolvers.apply(player);
+            return new Component[]{deserialize(title, tagResolver), deserialize(subtitle, tagResolver)};
+        }, (audience, parts) -> {
+            if (parts[0] != null) audience.sendTitlePart(TitlePart.TITLE, parts[0]);
+            if (parts[1] != null) audience.sendTitlePart(TitlePart.SUBTITLE, parts[1]);
+            audience.sendTitlePart(TitlePart.TIMES, times);
+        });
+    }
+
+    private <T> CompletableFuture<Void> personalize(List<Player> players, Function<Player, T> renderer, BiConsumer<Audience, T> sender) {
+        if (players.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+
+        CompletableFuture.supplyAsync(() -> players.parallelStream().map(renderer).collect(Collectors.toList()), ForkJoinPool.commonPool())
+                .whenComplete((rendered, error) -> {
+                    if (error != null) {
+                        future.completeExceptionally(error);
+                        return;
+                    }
+
+                    try {
+                        Bukkit.getScheduler().runTask(plugin, () -> {
+                            try {
+                                for (int i = 0; i < players.size(); i++) {
+                                    Player player = players.get(i);
+                                    if (player.isOnline()) sender.accept(audience(player), rendered.get(i));
+                                }
+
+                                future.complete(null);
+                            } catch (Throwable t) {
+                                future.completeExceptionally(t);
+                            }
+                        });
+                    } catch (Throwable t) {
+                        // The plugin was disabled while the messages were rendered
+                        future.completeExceptionally(t);
+                    }
+                });
+
+        return future;
+    }
+
+    private Audience permissionAudience(String[] permissions) {
+        return permissionAudience(Arrays.asList(permissions));
+    }
+
+    private Audience permissionAudience(Collection<String> permissions) {
+        List<Audience> list = new ArrayList<>();
+
+        CommandSender console = Bukkit.getConsoleSender();
+        if (hasAnyPermission(console, permissions)) list.add(audiences.console());
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (hasAnyPermission(player, permissions)) list.add(audience(player));
+        }
+
+        return Audience.audience(list);
+    }
+
+    private boolean hasAnyPermission(CommandSender sender, Collection<String> permissions) {
+        PermissionCache cache = permissionCache;
+
+        for (String permission : permissions) {
+            if (permission == null) continue;
+
+            boolean has;
+            if (cache != null && sender instanceof Player) has = cache.hasPermission((Player) sender, permission);
+            else has = sender.hasPermission(permission);
+
+            if (has) return true;
+        }
+
+        return false;
+    }
+
+    private Audience audience(CommandSender receiver) {
+        if (!(receiver instanceof Player)) return audiences.sender(receiver);
+
+        Player player = (Player) receiver;
+        Audience audience = playerAudiences.get(player.getUniqueId());
+        if (audience != null) return display(player.getUniqueId(), audience);
+
+        audience = audiences.player(player);
+        if (!player.isOnline()) return audience;
+
+        playerAudiences.put(player.getUniqueId(), audience);
+        return display(player.getUniqueId(), audience);
+    }
+
+    @Nullable
+    Audience cachedAudience(UUID uuid) {
+        Audience audience = playerAudiences.get(uuid);
+        return audience != null ? display(uuid, audience) : null;
+    }
+
+    private Audience display(UUID uuid, Audience audience) {
+        DisplayScheduler scheduler = displayScheduler;
+        return scheduler != null ? scheduler.display(uuid, audience) : audience;
+    }
+
+    private Audience displayAudience(Audience audience, Collection<? extends Player> players, @Nullable String neededPermission) {
+        if (displayScheduler == null) return audience;
+
+        List<Audience> list = new ArrayList<>(players.size());
+        for (Player player : players) {
+            if (neededPermission == null || player.hasPermission(neededPermission)) list.add(audience(player));
+        }
+
+        return Audience.audience(list);
+    }
+
+    private class AudienceListener implements Listener {
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            Player player = event.getPlayer();
+            playerAudiences.put(player.getUniqueId(), audiences.player(player));
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            playerAudiences.remove(event.getPlayer().getUniqueId());
+            if (displayScheduler != null) displayScheduler.remove(event.getPlayer().getUniqueId());
+            if (permissionCache != null) permissionCache.invalidate(event.getPlayer());
+        }
+    }
+
+    private Audience audience(CommandSender[] receivers) {
+        if (receivers.length == 1) return receivers[0] == null ? Audience.empty() : audience(receivers[0]);
+
+        List<Audience> list = new ArrayList<>(receivers.length);
+        for (CommandSender receiver : receivers) {
+            if (receiver == null) continue;
+            list.add(audience(receiver));
+        }
+
+        return Audience.audience(list);
+    }
+
+    private Audience audience(Collection<? extends CommandSender> receivers) {
+        List<Audience> list = new ArrayList<>(receivers.size());
+        for (CommandSender receiver : receivers) {
+            if (receiver == null) continue;
+            list.add(audience(receiver));
+        }
+
+        return list.size() == 1 ? list.get(0) : Audience.audience(list);
+    }
+
+    private static <C extends Collection<String>> C convert(C collection, UnaryOperator<String> converter) {
+        if (collection == null) return null;
+
+        if (collection instanceof List) {
+            ListIterator<String> iterator = ((List<String>) collection).listIterator();
+            while (iterator.hasNext()) {
+                String text = iterator.next();
+                String converted = converter.apply(text);
+                if (!Objects.equals(converted, text)) iterator.set(converted);
+            }
+
+            return collection;
+        }
+
+        List<String> texts = null;
+        int index = 0;
+
+        for (String text : collection) {
+            String converted = converter.apply(text);
+
+            if (texts == null && !Objects.equals(converted, text)) {
+                texts = new ArrayList<>(collection.size());
+                Iterator<String> iterator = collection.iterator();
+                for (int i = 0; i < index; i++) texts.add(iterator.next());
+            }
+
+            if (texts != null) texts.add(converted);
+            index++;
+        }
+
+        if (texts != null) {
+            collection.clear();
+            collection.addAll(texts);
+        }
+
+        return collection;
+    }
+
+    private static String[] convert(String[] texts, String[] output, UnaryOperator<String> converter) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+        Preconditions.checkNotNull(output, "Output cannot be null");
+        Preconditions.checkArgument(output.length >= texts.length, "Output cannot be shorter than the texts");
+
+        for (int i = 0; i < texts.length; i++) {
+            output[i] = converter.apply(texts[i]);
+        }
+
+        return output;
+    }
+
+    private static void convert(Iterable<String> texts, Consumer<? super String> output, UnaryOperator<String> converter) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+        Preconditions.checkNotNull(output, "Output cannot be null");
+
+        for (String text : texts) {
+            output.accept(converter.apply(text));
+        }
+    }
+
+    private static List<String> convertParallel(List<String> texts, UnaryOperator<String> converter) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+
+        String[] converted = texts.toArray(new String[0]);
+        if (converted.length < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < converted.length; i++) converted[i] = converter.apply(converted[i]);
+        } else {
+            Arrays.parallelSetAll(converted, i -> converter.apply(converted[i]));
+        }
+
+        return new ArrayList<>(Arrays.asList(converted));
+    }
 }
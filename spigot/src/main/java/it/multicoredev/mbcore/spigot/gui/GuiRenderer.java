@@ -0,0 +1,186 @@
+package it.multicoredev.mbcore.spigot.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.BitSet;
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class GuiRenderer {
+    private final Plugin plugin;
+    private final Gui gui;
+    private final ItemStack[] model;
+    private final ItemStack[] rendered;
+    private final BitSet dirty;
+    private BukkitTask task = null;
+
+    /**
+     * Renders the slots of a {@link Gui} from a model of its contents.
+     * The model is compared with the contents last rendered and only the changed slots are set in the inventory,
+     * once per tick, so the viewers only receive the slots that really changed.
+     * The model starts with the current contents of the Gui.
+     * The renderer must only be used on the main thread and it must be the only one setting the items of the Gui.
+     *
+     * @param plugin The {@link Plugin} used to render the changes on the next tick.
+     * @param gui    The {@link Gui} to render.
+     */
+    public GuiRenderer(@NotNull Plugin plugin, @NotNull Gui gui) {
+        this.plugin = Objects.requireNonNull(plugin);
+        this.gui = Objects.requireNonNull(gui);
+        model = new ItemStack[gui.getSize()];
+        rendered = new ItemStack[gui.getSize()];
+        dirty = new BitSet(gui.getSize());
+
+        ItemStack[] contents = gui.getContents();
+        for (int i = 0; i < model.length && i < contents.length; i++) {
+            model[i] = contents[i];
+            rendered[i] = contents[i] == null ? null : contents[i].clone();
+        }
+    }
+
+    /**
+     * Returns the {@link Gui} rendered.
+     *
+     * @return The rendered Gui
+     */
+    public Gui getGui() {
+        return gui;
+    }
+
+    /**
+     * Returns the ItemStack of the model at the given index
+     *
+     * @param index The index of the slot
+     * @return The ItemStack in the model
+     */
+    @Nullable
+    public ItemStack getItem(int index) {
+        return model[index];
+    }
+
+    /**
+     * Sets the ItemStack of the model at the given index.
+     * The slot will be rendered on the next tick if it changed.
+     *
+     * @param index The index of the slot
+     * @param item  The ItemStack to set
+     */
+    public void setItem(int index, @Nullable ItemStack item) {
+        model[index] = item;
+        dirty.set(index, !Objects.equals(item, rendered[index]));
+        schedule();
+    }
+
+    /**
+     * Replaces the whole model with the ItemStacks given in the array.
+     * The slots that changed will be rendered on the next tick.
+     *
+     * @param items The ItemStacks of the model; the length must be less than or equal to the size of the Gui.
+     * @throws IllegalArgumentException If the array has more items than the Gui.
+     */
+    public void setContents(@NotNull ItemStack[] items) throws IllegalArgumentException {
+        Objects.requireNonNull(items);
+        if (items.length > model.length) throw new IllegalArgumentException("Invalid inventory size; expected " + model.length + " or less");
+
+        render(index -> index < items.length ? items[index] : null);
+    }
+
+    /**
+     * Computes the whole model again, asking the item of every slot.
+     * The slots that changed will be rendered on the next tick.
+     *
+     * @param slots The function returning the ItemStack of a slot from its index.
+     */
+    public void render(@NotNull IntFunction<ItemStack> slots) {
+        Objects.requireNonNull(slots);
+
+        for (int i = 0; i < model.length; i++) {
+            model[i] = slots.apply(i);
+            dirty.set(i, !Objects.equals(model[i], rendered[i]));
+        }
+        schedule();
+    }
+
+    /**
+     * Renders the changed slots immediately instead of waiting for the next tick.
+     */
+    public void flush() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            ItemStack item = model[i];
+            // The rendered item is a copy so the items changed after being set are rendered again
+            rendered[i] = item == null ? null : item.clone();
+            gui.setItem(i, item);
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Reads the contents of the Gui again, in case they were changed without this renderer,
+     * and renders the slots that differ from the model on the next tick.
+     */
+    public void invalidate() {
+        ItemStack[] contents = gui.getContents();
+
+        for (int i = 0; i < rendered.length; i++) {
+            rendered[i] = i < contents.length && contents[i] != null ? contents[i].clone() : null;
+            dirty.set(i, !Objects.equals(model[i], rendered[i]));
+        }
+        schedule();
+    }
+
+    /**
+     * Cancels the rendering of the changed slots scheduled for the next tick.
+     */
+    public void cancel() {
+        if (task != null) task.cancel();
+        task = null;
+    }
+
+    private void schedule() {
+        if (task != null || dirty.isEmpty()) return;
+        task = Bukkit.getScheduler().runTask(plugin, () -> {
+            task = null;
+            flush();
+        });
+    }
+}
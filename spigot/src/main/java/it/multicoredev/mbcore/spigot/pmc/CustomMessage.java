@@ -1,8 +1,9 @@
 package it.multicoredev.mbcore.spigot.pmc;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
+import it.multicoredev.mbcore.common.pmc.MessageWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
 
 /**
  * BSD 3-Clause License
@@ -34,131 +35,15 @@ import java.io.IOException;
  * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
-public final class CustomMessage {
+public final class CustomMessage extends MessageWriter {
     private final String channel;
-    private final ByteArrayOutputStream bytes;
-    private final DataOutputStream out;
 
-    public CustomMessage(String channel) {
+    public CustomMessage(@NotNull String channel) {
+        Objects.requireNonNull(channel);
         this.channel = channel.toLowerCase();
-        bytes = new ByteArrayOutputStream();
-        out = new DataOutputStream(bytes);
     }
 
     public String getChannel() {
         return channel;
     }
-
-    public int size() {
-        return bytes.toByteArray().length;
-    }
-
-    public byte[] toByteArray() {
-        return bytes.toByteArray();
-    }
-
-    public void writeByte(byte b) {
-        try {
-            out.write(b);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeByte(int b) {
-        try {
-            out.write(b);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeByteArray(byte[] bytes) {
-        try {
-            out.write(bytes, 0, bytes.length);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeBoolean(boolean b) {
-        try {
-            out.writeBoolean(b);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeShort(short s) {
-        try {
-            out.writeShort(s);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeShort(int s) {
-        try {
-            out.writeShort(s);
-        } catch (IOException ignored) {
-        }
-    }
-    
-    public void writeChar(char c) {
-        try {
-            out.writeChar(c);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeChar(int c) {
-        try {
-            out.writeChar(c);
-        } catch (IOException ignored) {
-        }
-    }
-    
-    public void writeInt(int i) {
-        try {
-            out.writeInt(i);
-        } catch (IOException ignored) {
-        }
-    }
-    
-    public void writeLong(long l) {
-        try {
-            out.writeLong(l);
-        } catch (IOException ignored) {
-        }
-    }
-    
-    public void writeFloat(float f) {
-        try {
-            out.writeFloat(f);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeDouble(double d) {
-        try {
-            out.writeDouble(d);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeBytes(String s) {
-        try {
-            out.writeBytes(s);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeChars(String s) {
-        try {
-            out.writeChars(s);
-        } catch (IOException ignored) {
-        }
-    }
-
-    public void writeUTF(String s) {
-        try {
-            out.writeUTF(s);
-        } catch (IOException ignored) {
-        }
-    }
-}
\ No newline at end of file
+}
@@ -44,7 +44,7 @@ public final class ForwardMessage {
     }
 
     public int size() {
-        return bytes.toByteArray().length;
+        return bytes.size();
     }
 
     public byte[] toByteArray() {
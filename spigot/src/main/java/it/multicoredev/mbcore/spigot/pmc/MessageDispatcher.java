@@ -0,0 +1,229 @@
+package it.multicoredev.mbcore.spigot.pmc;
+
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class MessageDispatcher {
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    private final Plugin plugin;
+    private final Mode mode;
+    private final int threads;
+    private final int maxBatch;
+    private final ExecutorService executor;
+    private final Queue<Event> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger drainers = new AtomicInteger();
+    private volatile boolean shutdown = false;
+
+    /**
+     * Dispatcher of the events fired by the {@link PluginMessageChannel}.
+     * Events are queued and delivered in batches by a fixed number of drainers, so a burst of messages costs a single
+     * hand-off instead of one scheduler task per message.
+     *
+     * @param plugin   The {@link Plugin} that owns this dispatcher.
+     * @param mode     The {@link Mode} used to deliver the events.
+     * @param threads  The number of threads delivering the events in {@link Mode#ASYNC} mode.
+     * @param maxBatch The maximum number of events delivered by a drainer before yielding.
+     */
+    public MessageDispatcher(@NotNull Plugin plugin, @NotNull Mode mode, int threads, int maxBatch) {
+        Objects.requireNonNull(plugin);
+        Objects.requireNonNull(mode);
+        if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1");
+        if (maxBatch < 1) throw new IllegalArgumentException("Max batch must be at least 1");
+
+        this.plugin = plugin;
+        this.mode = mode;
+        this.threads = mode == Mode.ASYNC ? threads : 1;
+        this.maxBatch = maxBatch;
+
+        if (mode == Mode.ASYNC) {
+            AtomicInteger count = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(this.threads, r -> {
+                Thread thread = new Thread(r, plugin.getName() + " PMC Dispatcher #" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Dispatcher of the events fired by the {@link PluginMessageChannel}.
+     *
+     * @param plugin The {@link Plugin} that owns this dispatcher.
+     * @param mode   The {@link Mode} used to deliver the events.
+     */
+    public MessageDispatcher(@NotNull Plugin plugin, @NotNull Mode mode) {
+        this(plugin, mode, 1, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Dispatcher of the events fired by the {@link PluginMessageChannel}.
+     * Events are delivered asynchronously by a single thread.
+     *
+     * @param plugin The {@link Plugin} that owns this dispatcher.
+     */
+    public MessageDispatcher(@NotNull Plugin plugin) {
+        this(plugin, Mode.ASYNC);
+    }
+
+    /**
+     * Get the mode used to deliver the events.
+     *
+     * @return The {@link Mode} of this dispatcher.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Check if the events are delivered off the main thread.
+     * Events dispatched through this dispatcher must be created with this value as their async flag.
+     *
+     * @return true if the events are delivered asynchronously.
+     */
+    public boolean isAsync() {
+        return mode == Mode.ASYNC;
+    }
+
+    /**
+     * Get the number of events waiting to be delivered.
+     *
+     * @return The number of queued events.
+     */
+    public int getPending() {
+        return queue.size();
+    }
+
+    /**
+     * Dispatch an event.
+     * In {@link Mode#SYNC} mode an event dispatched from the main thread while nothing is queued is delivered
+     * immediately, otherwise it's queued and delivered on the next tick together with the other queued events.
+     *
+     * @param event The {@link Event} to dispatch.
+     */
+    public void dispatch(@NotNull Event event) {
+        Objects.requireNonNull(event);
+        if (shutdown) return;
+
+        if (mode == Mode.SYNC && drainers.get() == 0 && queue.isEmpty() && Bukkit.isPrimaryThread()) {
+            callEvent(event);
+            return;
+        }
+
+        queue.add(event);
+        if (acquire()) submit();
+    }
+
+    /**
+     * Stop the dispatcher. Queued events are discarded and new events are ignored.
+     */
+    public void shutdown() {
+        shutdown = true;
+        queue.clear();
+        if (executor != null) executor.shutdown();
+    }
+
+    private boolean acquire() {
+        while (true) {
+            int current = drainers.get();
+            if (current >= threads) return false;
+            if (drainers.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    private void submit() {
+        if (shutdown) {
+            drainers.decrementAndGet();
+            return;
+        }
+
+        if (mode == Mode.ASYNC) executor.execute(this::drain);
+        else Bukkit.getScheduler().runTask(plugin, this::drain);
+    }
+
+    private void drain() {
+        int delivered = 0;
+
+        while (true) {
+            if (shutdown) {
+                drainers.decrementAndGet();
+                return;
+            }
+
+            Event event = queue.poll();
+            if (event == null) {
+                drainers.decrementAndGet();
+                if (queue.isEmpty() || !acquire()) return;
+                continue;
+            }
+
+            callEvent(event);
+
+            if (++delivered >= maxBatch) {
+                submit();
+                return;
+            }
+        }
+    }
+
+    private void callEvent(Event event) {
+        try {
+            Bukkit.getPluginManager().callEvent(event);
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not dispatch " + event.getEventName(), e);
+        }
+    }
+
+    public enum Mode {
+        /**
+         * Events are delivered by the dispatcher threads.
+         */
+        ASYNC,
+        /**
+         * Events are delivered on the main thread.
+         */
+        SYNC
+    }
+}
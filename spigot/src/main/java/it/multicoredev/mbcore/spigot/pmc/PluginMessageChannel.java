@@ -1,23 +1,23 @@
 package it.multicoredev.mbcore.spigot.pmc;
 
-import com.google.common.io.ByteArrayDataInput;
 import com.google.common.io.ByteArrayDataOutput;
 import com.google.common.io.ByteStreams;
+import it.multicoredev.mbcore.common.pmc.ChunkAssembler;
+import it.multicoredev.mbcore.common.pmc.MessageChunker;
+import it.multicoredev.mbcore.common.pmc.MessageCodec;
+import it.multicoredev.mbcore.common.pmc.MessageReader;
 import it.multicoredev.mbcore.spigot.pmc.events.*;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.messaging.PluginMessageListener;
-import org.bukkit.scheduler.BukkitScheduler;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
 
 /**
  * BSD 3-Clause License
@@ -52,9 +52,12 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @SuppressWarnings("UnstableApiUsage")
 public class PluginMessageChannel implements PluginMessageListener {
     private final Plugin plugin;
-    private final BukkitScheduler scheduler;
+    private final MessageDispatcher dispatcher;
+    private final boolean ownDispatcher;
+    private final ChunkAssembler assembler;
     private final List<String> channels = new CopyOnWriteArrayList<>();
-    private boolean defListener = false;
+    private volatile Map<String, Map<String, MessageHandler>> handlers = Collections.emptyMap();
+    private volatile boolean defListener = false;
 
     /**
      * Implementation of Bukkit Custom Plugin Message API. An easy to use API to send and receive default and custom plugin
@@ -62,14 +65,59 @@ public class PluginMessageChannel implements PluginMessageListener {
      * Keep in mind that you can't send plugin messages directly after a player joins (Eg. in PlayerJoinEvent).
      * You have to include a slight delay.
      *
-     * @param plugin The {@link Plugin} that is registering this MessageChannel.
+     * @param plugin    The {@link Plugin} that is registering this MessageChannel.
+     * @param assembler  The {@link ChunkAssembler} used to reassemble messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE}.
+     * @param dispatcher The {@link MessageDispatcher} used to fire the response events.
      */
-    public PluginMessageChannel(Plugin plugin) {
+    public PluginMessageChannel(Plugin plugin, ChunkAssembler assembler, MessageDispatcher dispatcher) {
+        this(plugin, assembler, dispatcher, false);
+    }
+
+    private PluginMessageChannel(Plugin plugin, ChunkAssembler assembler, MessageDispatcher dispatcher, boolean ownDispatcher) {
         this.plugin = plugin;
+        this.assembler = assembler;
+        this.dispatcher = dispatcher;
+        this.ownDispatcher = ownDispatcher;
 
         registerChannel("BungeeCord");
+        registerChannel(MessageChunker.CHANNEL);
+        registerBungeeHandlers();
+    }
 
-        scheduler = Bukkit.getScheduler();
+    /**
+     * Implementation of Bukkit Custom Plugin Message API. An easy to use API to send and receive default and custom plugin
+     * messages.
+     * Keep in mind that you can't send plugin messages directly after a player joins (Eg. in PlayerJoinEvent).
+     * You have to include a slight delay.
+     * WARNING! Remember to destroy the MessageChannel when the plugin is disabled or reloaded with {@link #destroy()}.
+     *
+     * @param plugin    The {@link Plugin} that is registering this MessageChannel.
+     * @param assembler The {@link ChunkAssembler} used to reassemble messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE}.
+     */
+    public PluginMessageChannel(Plugin plugin, ChunkAssembler assembler) {
+        this(plugin, assembler, new MessageDispatcher(plugin), true);
+    }
+
+    /**
+     * Implementation of Bukkit Custom Plugin Message API. An easy to use API to send and receive default and custom plugin
+     * messages.
+     * Keep in mind that you can't send plugin messages directly after a player joins (Eg. in PlayerJoinEvent).
+     * You have to include a slight delay.
+     * WARNING! Remember to destroy the MessageChannel when the plugin is disabled or reloaded with {@link #destroy()}.
+     *
+     * @param plugin The {@link Plugin} that is registering this MessageChannel.
+     */
+    public PluginMessageChannel(Plugin plugin) {
+        this(plugin, new ChunkAssembler());
+    }
+
+    /**
+     * Get the dispatcher used to fire the response events.
+     *
+     * @return The {@link MessageDispatcher} of this MessageChannel.
+     */
+    public MessageDispatcher getDispatcher() {
+        return dispatcher;
     }
 
     /**
@@ -115,7 +163,7 @@ public class PluginMessageChannel implements PluginMessageListener {
 
     /**
      * Unregister all channels.
-     * Keep in mind that this will unregister also BungeeCord and mbcore:default channels.
+     * Keep in mind that this will unregister also BungeeCord, mbcore:chunk and mbcore:default channels.
      */
     public void unregisterAllChannels() {
         for (String channel : channels) {
@@ -123,18 +171,160 @@ public class PluginMessageChannel implements PluginMessageListener {
         }
     }
 
+    /**
+     * Unregister all channels and handlers of this MessageChannel and stop the dispatcher it created.
+     * A dispatcher passed to the constructor is not stopped, its owner is responsible for shutting it down.
+     * The MessageChannel cannot be used anymore after this method is called.
+     */
+    public void destroy() {
+        unregisterAllChannels();
+        synchronized (channels) {
+            handlers = Collections.emptyMap();
+        }
+        assembler.clear();
+        if (ownDispatcher) dispatcher.shutdown();
+    }
+
     /**
      * Enable the default channel listener.
      */
     public void enableDefaultListener() {
+        if (defListener) return;
         defListener = true;
+
+        registerHandler("mbcore:default", "ConsoleCommand", (player, in) -> {
+            ConsoleCommandEvent event = new ConsoleCommandEvent(in.readUTF(), in.readUTF());
+            callEvent(event);
+            if (event.isCancelled()) return;
+
+            Bukkit.getScheduler().callSyncMethod(plugin, () -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), event.getCommand()));
+        });
+        registerHandler("mbcore:default", "PlayerCommand", (player, in) -> {
+            PlayerCommandEvent event = new PlayerCommandEvent(in.readUTF(), in.readUTF());
+            callEvent(event);
+            if (event.isCancelled()) return;
+
+            Player p = Bukkit.getPlayer(event.getPlayer());
+            if (p == null) return;
+
+            Bukkit.getScheduler().callSyncMethod(plugin, () -> Bukkit.dispatchCommand(p, event.getCommand()));
+        });
     }
 
     /**
      * Disable the default channel listener.
      */
     public void disableDefaultListener() {
+        if (!defListener) return;
         defListener = false;
+
+        unregisterHandler("mbcore:default", "ConsoleCommand");
+        unregisterHandler("mbcore:default", "PlayerCommand");
+    }
+
+    /**
+     * Register a handler for a subchannel of a channel. Messages on that subchannel are dispatched to the handler
+     * on the thread that received them, with a reader positioned right after the subchannel.
+     * The channel must be registered with {@link #registerChannel(String)} to receive messages.
+     * If a handler is already registered for the same channel and subchannel it is replaced.
+     *
+     * @param channel    The name of the channel.
+     * @param subchannel The name of the subchannel, read as the first UTF string of the message.
+     * @param handler    The {@link MessageHandler} that handles the messages.
+     */
+    public void registerHandler(@NotNull String channel, @NotNull String subchannel, @NotNull MessageHandler handler) {
+        Objects.requireNonNull(channel);
+        Objects.requireNonNull(subchannel);
+        Objects.requireNonNull(handler);
+
+        synchronized (channels) {
+            Map<String, Map<String, MessageHandler>> table = new HashMap<>(handlers);
+            Map<String, MessageHandler> subchannels = new HashMap<>(table.getOrDefault(channel, Collections.emptyMap()));
+            subchannels.put(subchannel, handler);
+            table.put(channel, subchannels);
+            handlers = table;
+        }
+    }
+
+    /**
+     * Register a handler for a subchannel of a channel. Messages on that subchannel are decoded with the decoder and
+     * then passed to the handler.
+     * The channel must be registered with {@link #registerChannel(String)} to receive messages.
+     * If a handler is already registered for the same channel and subchannel it is replaced.
+     *
+     * @param channel    The name of the channel.
+     * @param subchannel The name of the subchannel, read as the first UTF string of the message.
+     * @param decoder    The {@link MessageDecoder} that decodes the message body.
+     * @param handler    The handler that receives the player that delivered the message and the decoded message.
+     * @param <T>        The type of the decoded message.
+     */
+    public <T> void registerHandler(@NotNull String channel, @NotNull String subchannel, @NotNull MessageDecoder<T> decoder, @NotNull BiConsumer<Player, T> handler) {
+        Objects.requireNonNull(decoder);
+        Objects.requireNonNull(handler);
+
+        registerHandler(channel, subchannel, (player, in) -> handler.accept(player, decoder.decode(in)));
+    }
+
+    /**
+     * Register a handler for the messages of a schema. Messages are dispatched on the subchannel named after the schema,
+     * their schema version is checked and then they are decoded with the codec and passed to the handler.
+     * Messages with a different schema version are dropped and logged.
+     * The channel must be registered with {@link #registerChannel(String)} to receive messages.
+     *
+     * @param channel The name of the channel.
+     * @param codec   The {@link MessageCodec} of the schema.
+     * @param handler The handler that receives the player that delivered the message and the decoded message.
+     * @param <T>     The type of the decoded message.
+     */
+    public <T> void registerCodec(@NotNull String channel, @NotNull MessageCodec<T> codec, @NotNull BiConsumer<Player, T> handler) {
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(handler);
+
+        registerHandler(channel, codec.getName(), (player, in) -> {
+            int version = in.readUnsignedShort();
+            if (version != codec.getVersion()) {
+                plugin.getLogger().warning(String.format("Dropped %s message on channel %s: schema version %d, expected %d", codec.getName(), channel, version, codec.getVersion()));
+                return;
+            }
+
+            handler.accept(player, codec.decode(in));
+        });
+    }
+
+    /**
+     * Unregister the handler of a subchannel of a channel.
+     *
+     * @param channel    The name of the channel.
+     * @param subchannel The name of the subchannel.
+     */
+    public void unregisterHandler(@NotNull String channel, @NotNull String subchannel) {
+        synchronized (channels) {
+            Map<String, MessageHandler> current = handlers.get(channel);
+            if (current == null || !current.containsKey(subchannel)) return;
+
+            Map<String, Map<String, MessageHandler>> table = new HashMap<>(handlers);
+            Map<String, MessageHandler> subchannels = new HashMap<>(current);
+            subchannels.remove(subchannel);
+
+            if (subchannels.isEmpty()) table.remove(channel);
+            else table.put(channel, subchannels);
+            handlers = table;
+        }
+    }
+
+    /**
+     * Unregister all the handlers of a channel.
+     *
+     * @param channel The name of the channel.
+     */
+    public void unregisterHandlers(@NotNull String channel) {
+        synchronized (channels) {
+            if (!handlers.containsKey(channel)) return;
+
+            Map<String, Map<String, MessageHandler>> table = new HashMap<>(handlers);
+            table.remove(channel);
+            handlers = table;
+        }
     }
 
     /**
@@ -146,74 +336,33 @@ public class PluginMessageChannel implements PluginMessageListener {
      */
     @Override
     public void onPluginMessageReceived(@NotNull String channel, @NotNull Player player, @NotNull byte[] message) {
-        ByteArrayDataInput in = ByteStreams.newDataInput(message);
+        if (channel.equals(MessageChunker.CHANNEL)) {
+            ChunkAssembler.Payload payload = assembler.accept(message);
+            if (payload == null) return;
+
+            // The fragments could come from a client, so they can only target the channels registered here
+            // and never the channels of the proxy commands
+            String target = payload.getTarget().toLowerCase();
+            if (target.equals("bungeecord") || target.equals("mbcore:default") || target.equals(MessageChunker.CHANNEL) || !channels.contains(target)) {
+                plugin.getLogger().warning(String.format("Dropped chunked plugin message for channel %s", payload.getTarget()));
+                return;
+            }
 
-        if (channel.equals("BungeeCord")) {
-            String subchannel = in.readUTF();
+            Bukkit.getServer().getMessenger().dispatchIncomingMessage(player, payload.getTarget(), payload.getData());
+            return;
+        }
 
-            switch (subchannel) {
-                case "IP":
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new IPResponseEvent(in.readUTF(), in.readInt())));
-                    break;
-                case "IPOther":
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new IPOtherResponseEvent(in.readUTF(), in.readUTF(), in.readInt())));
-                    break;
-                case "PlayerCount":
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new PlayerCountResponseEvent(in.readUTF(), in.readInt())));
-                                        break;
-                case "PlayerList":
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new PlayerListResponseEvent(in.readUTF(), in.readUTF().split(", "))));
-                    break;
-                case "GetServers":
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new GetServersResponseEvent(in.readUTF().split(", "))));
-                    break;
-                case "GetServer":
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new GetServerResponseEvent(in.readUTF())));
-                    break;
-                case "Forward": {
-                    String subCh = in.readUTF();
-                    short len = in.readShort();
-                    byte[] bytes = new byte[len];
-                    in.readFully(bytes);
-                    DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new ForwardResponseEvent(subCh, len, dis)));
-                    break;
-                }
-                case "ForwardToPlayer": {
-                    String subCh = in.readUTF();
-                    short len = in.readShort();
-                    byte[] bytes = new byte[len];
-                    in.readFully(bytes);
-                    DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-
-                    scheduler.runTaskAsynchronously(plugin, () -> callEvent(new ForwardToPlayerResponseEvent(subCh, len, dis)));
-                    break;
-                }
-            }
-        } else if (channel.equals("mbcore:default") && defListener) {
-            String subchannel = in.readUTF();
+        Map<String, MessageHandler> subchannels = handlers.get(channel);
+        if (subchannels == null) return;
 
-            switch (subchannel) {
-                case "ConsoleCommand": {
-                    ConsoleCommandEvent event = new ConsoleCommandEvent(in.readUTF(), in.readUTF());
-                    callEvent(event);
-                    if (event.isCancelled()) break;
-
-                    Bukkit.getScheduler().callSyncMethod(plugin, () -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), event.getCommand()));
-                    break;
-                }
-                case "PlayerCommand": {
-                    PlayerCommandEvent event = new PlayerCommandEvent(in.readUTF(), in.readUTF());
-                    callEvent(event);
-                    if (event.isCancelled()) break;
-
-                    Player p = Bukkit.getPlayer(event.getPlayer());
-                    if (p == null) return;
-
-                    Bukkit.getScheduler().callSyncMethod(plugin, () -> Bukkit.dispatchCommand(p, event.getCommand()));
-                }
-            }
+        try {
+            MessageReader in = new MessageReader(message);
+            MessageHandler handler = subchannels.get(in.readUTF());
+            if (handler == null) return;
+
+            handler.handle(player, in);
+        } catch (IllegalStateException e) {
+            plugin.getLogger().warning(String.format("Malformed plugin message received on channel %s", channel));
         }
     }
 
@@ -354,6 +503,8 @@ public class PluginMessageChannel implements PluginMessageListener {
     /**
      * Send a custom plugin message to said server.
      * Remember, the sending and receiving server(s) need to have a player online.
+     * Messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE} are split in fragments and reassembled by the
+     * receiving {@link PluginMessageChannel}.
      *
      * @param server  The name of the server to send to, as defined in BungeeCord config.yml,
      *                ALL to send to every server except the one sending the message
@@ -362,30 +513,38 @@ public class PluginMessageChannel implements PluginMessageListener {
      * @param message The custom message to send.
      */
     public void forward(@NotNull String server, @NotNull String channel, @NotNull ForwardMessage message) {
-        ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        out.writeUTF("Forward");
-        out.writeUTF(server);
-        out.writeUTF(channel);
-        out.writeShort(message.size());
-        out.write(message.toByteArray());
-        sendMessage(out);
+        byte[] data = message.toByteArray();
+
+        if (!MessageChunker.needsChunking(data.length)) {
+            sendForward("Forward", server, channel, data);
+            return;
+        }
+
+        for (byte[] fragment : MessageChunker.split(channel, data)) {
+            sendForward("Forward", server, MessageChunker.CHANNEL, fragment);
+        }
     }
 
     /**
      * Send a custom plugin message to specific player.
+     * Messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE} are split in fragments and reassembled by the
+     * receiving {@link PluginMessageChannel}.
      *
      * @param player  The name of the player to send to.
      * @param channel The name of the subchannel you are using.
      * @param message The custom message to send.
      */
     public void forwardToPlayer(@NotNull String player, @NotNull String channel, @NotNull ForwardMessage message) {
-        ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        out.writeUTF("ForwardToPlayer");
-        out.writeUTF(player);
-        out.writeUTF(channel);
-        out.writeShort(message.size());
-        out.write(message.toByteArray());
-        sendMessage(out);
+        byte[] data = message.toByteArray();
+
+        if (!MessageChunker.needsChunking(data.length)) {
+            sendForward("ForwardToPlayer", player, channel, data);
+            return;
+        }
+
+        for (byte[] fragment : MessageChunker.split(channel, data)) {
+            sendForward("ForwardToPlayer", player, MessageChunker.CHANNEL, fragment);
+        }
     }
 
     /**
@@ -451,6 +610,8 @@ public class PluginMessageChannel implements PluginMessageListener {
 
     /**
      * Send a custom message.
+     * Messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE} are split in fragments and reassembled by the
+     * receiving {@link PluginMessageChannel}.
      *
      * @param player  The {@link Player} delivering the message.
      * @param message The {@link CustomMessage} message to deliver.
@@ -459,7 +620,30 @@ public class PluginMessageChannel implements PluginMessageListener {
         Objects.requireNonNull(player);
         Objects.requireNonNull(message);
 
-        player.sendPluginMessage(plugin, message.getChannel(), message.toByteArray());
+        byte[] data = message.toByteArray();
+
+        if (!MessageChunker.needsChunking(data.length)) {
+            player.sendPluginMessage(plugin, message.getChannel(), data);
+            return;
+        }
+
+        for (byte[] fragment : MessageChunker.split(message.getChannel(), data)) {
+            player.sendPluginMessage(plugin, MessageChunker.CHANNEL, fragment);
+        }
+    }
+
+    /**
+     * Send a message encoded with a schema.
+     *
+     * @param player  The {@link Player} delivering the message.
+     * @param channel The channel of the message.
+     * @param codec   The {@link MessageCodec} of the schema.
+     * @param message The message to encode and deliver.
+     * @param <T>     The type of the message.
+     */
+    public <T> void sendMessage(@NotNull Player player, @NotNull String channel, @NotNull MessageCodec<T> codec, @NotNull T message) {
+        Objects.requireNonNull(codec);
+        sendCustomMessage(player, codec.write(message, new CustomMessage(channel)));
     }
 
     /**
@@ -525,6 +709,63 @@ public class PluginMessageChannel implements PluginMessageListener {
         Bukkit.getPluginManager().callEvent(event);
     }
 
+    private void registerBungeeHandlers() {
+        registerHandler("BungeeCord", "IP", (player, in) -> {
+            IPResponseEvent event = new IPResponseEvent(in.readUTF(), in.readInt(), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+        registerHandler("BungeeCord", "IPOther", (player, in) -> {
+            IPOtherResponseEvent event = new IPOtherResponseEvent(in.readUTF(), in.readUTF(), in.readInt(), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+        registerHandler("BungeeCord", "PlayerCount", (player, in) -> {
+            PlayerCountResponseEvent event = new PlayerCountResponseEvent(in.readUTF(), in.readInt(), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+        registerHandler("BungeeCord", "PlayerList", (player, in) -> {
+            PlayerListResponseEvent event = new PlayerListResponseEvent(in.readUTF(), in.readUTF().split(", "), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+        registerHandler("BungeeCord", "GetServers", (player, in) -> {
+            GetServersResponseEvent event = new GetServersResponseEvent(in.readUTF().split(", "), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+        registerHandler("BungeeCord", "GetServer", (player, in) -> {
+            GetServerResponseEvent event = new GetServerResponseEvent(in.readUTF(), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+        registerHandler("BungeeCord", "Forward", (player, in) -> {
+            String subchannel = in.readUTF();
+            MessageReader body = in.slice(in.readUnsignedShort());
+
+            if (subchannel.equals(MessageChunker.CHANNEL)) {
+                ChunkAssembler.Payload payload = assembler.accept(body.readBytes(body.remaining()));
+                if (payload == null) return;
+
+                subchannel = payload.getTarget();
+                body = new MessageReader(payload.getData());
+            }
+
+            ForwardResponseEvent event = new ForwardResponseEvent(subchannel, body.remaining(), new DataInputStream(body.toInputStream()), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+        registerHandler("BungeeCord", "ForwardToPlayer", (player, in) -> {
+            String subchannel = in.readUTF();
+            MessageReader body = in.slice(in.readUnsignedShort());
+
+            if (subchannel.equals(MessageChunker.CHANNEL)) {
+                ChunkAssembler.Payload payload = assembler.accept(body.readBytes(body.remaining()));
+                if (payload == null) return;
+
+                subchannel = payload.getTarget();
+                body = new MessageReader(payload.getData());
+            }
+
+            ForwardToPlayerResponseEvent event = new ForwardToPlayerResponseEvent(subchannel, body.remaining(), new DataInputStream(body.toInputStream()), dispatcher.isAsync());
+            dispatcher.dispatch(event);
+        });
+    }
+
     private void sendMessage(@NotNull Player player, @NotNull ByteArrayDataOutput out) {
         Objects.requireNonNull(player);
         Objects.requireNonNull(out);
@@ -536,4 +777,14 @@ public class PluginMessageChannel implements PluginMessageListener {
 
         sendMessage(new ArrayList<>(Bukkit.getOnlinePlayers()).get(0), out);
     }
+
+    private void sendForward(@NotNull String subchannel, @NotNull String target, @NotNull String channel, @NotNull byte[] data) {
+        ByteArrayDataOutput out = ByteStreams.newDataOutput();
+        out.writeUTF(subchannel);
+        out.writeUTF(target);
+        out.writeUTF(channel);
+        out.writeShort(data.length);
+        out.write(data);
+        sendMessage(out);
+    }
 }
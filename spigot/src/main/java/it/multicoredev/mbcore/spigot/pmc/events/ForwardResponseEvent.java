@@ -38,12 +38,16 @@ import java.io.DataInputStream;
 public final class ForwardResponseEvent extends Event {
     private static final HandlerList HANDLERS = new HandlerList();
     private final String channel;
-    private final short len;
+    private final int len;
     private final DataInputStream in;
 
 
-    public ForwardResponseEvent(String channel, short len, DataInputStream in) {
-        super(true);
+    public ForwardResponseEvent(String channel, int len, DataInputStream in) {
+        this(channel, len, in, true);
+    }
+
+    public ForwardResponseEvent(String channel, int len, DataInputStream in, boolean async) {
+        super(async);
         this.channel = channel;
         this.len = len;
         this.in = in;
@@ -61,7 +65,18 @@ public final class ForwardResponseEvent extends Event {
         return channel;
     }
 
+    /**
+     * Get the length of the message.
+     * Chunked messages can be longer than {@link Short#MAX_VALUE}, use {@link #getLength()} instead.
+     *
+     * @return The length of the message truncated to a short.
+     */
+    @Deprecated
     public short getLen() {
+        return (short) len;
+    }
+
+    public int getLength() {
         return len;
     }
 
@@ -38,7 +38,11 @@ public final class GetServerResponseEvent extends Event {
     private String server;
 
     public GetServerResponseEvent(String server) {
-        super(true);
+        this(server, true);
+    }
+
+    public GetServerResponseEvent(String server, boolean async) {
+        super(async);
         this.server = server;
     }
 
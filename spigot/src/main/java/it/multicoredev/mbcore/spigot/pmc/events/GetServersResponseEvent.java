@@ -42,7 +42,11 @@ public final class GetServersResponseEvent extends Event {
     private List<String> servers;
 
     public GetServersResponseEvent(String[] servers) {
-        super(true);
+        this(servers, true);
+    }
+
+    public GetServersResponseEvent(String[] servers, boolean async) {
+        super(async);
         this.servers = new ArrayList<>(Arrays.asList(servers));
     }
 
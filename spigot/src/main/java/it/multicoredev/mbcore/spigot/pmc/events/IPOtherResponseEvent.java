@@ -40,7 +40,11 @@ public final class IPOtherResponseEvent extends Event {
     private final int port;
 
     public IPOtherResponseEvent(String player, String ip, int port) {
-        super(true);
+        this(player, ip, port, true);
+    }
+
+    public IPOtherResponseEvent(String player, String ip, int port, boolean async) {
+        super(async);
         this.player = player;
         this.ip = ip;
         this.port = port;
@@ -39,7 +39,11 @@ public final class IPResponseEvent extends Event {
     private final int port;
 
     public IPResponseEvent(String ip, int port) {
-        super(true);
+        this(ip, port, true);
+    }
+
+    public IPResponseEvent(String ip, int port, boolean async) {
+        super(async);
         this.ip = ip;
         this.port = port;
     }
@@ -39,7 +39,11 @@ public final class PlayerCountResponseEvent extends Event {
     private final int count;
 
     public PlayerCountResponseEvent(String server, int count) {
-        super(true);
+        this(server, count, true);
+    }
+
+    public PlayerCountResponseEvent(String server, int count, boolean async) {
+        super(async);
         this.server = server;
         this.count = count;
     }
@@ -44,7 +44,11 @@ public final class PlayerListResponseEvent extends Event {
 
 
     public PlayerListResponseEvent(String server, String[] players) {
-        super(true);
+        this(server, players, true);
+    }
+
+    public PlayerListResponseEvent(String server, String[] players, boolean async) {
+        super(async);
         this.server = server;
         this.players = new ArrayList<>(Arrays.asList(players));
     }
@@ -0,0 +1,317 @@
+package it.multicoredev.mbcore.spigot.util;
+
+import it.multicoredev.mbcore.common.util.CompletionIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.TabCompleteEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class AsyncTabCompleter {
+    private static final String PAPER_EVENT = "com.destroystokyo.paper.event.server.AsyncTabCompleteEvent";
+    private static final UUID CONSOLE = new UUID(0, 0);
+    private final Plugin plugin;
+    private final Provider provider;
+    private final long ttl;
+    private final Executor executor;
+    private final Map<UUID, Map<String, Entry>> cache = new ConcurrentHashMap<>();
+    private final Set<String> commands = ConcurrentHashMap.newKeySet();
+    private final CompleterListener listener = new CompleterListener();
+
+    /**
+     * Completes the arguments of commands asynchronously, for the completions that can't be computed on the main thread
+     * like offline player names or data stored in a database.
+     * The completions of every player are cached for each argument typed. When the player types the next character of
+     * the argument the completions are narrowed from the cached ones, so the provider is only called once per argument
+     * while the cache is valid.
+     *
+     * @param plugin   The {@link Plugin} used to run the provider asynchronously and to listen to the tab completions.
+     * @param provider The {@link Provider} of the completions.
+     * @param ttl      The time the completions are cached.
+     * @param unit     The {@link TimeUnit} of the time.
+     */
+    public AsyncTabCompleter(@NotNull Plugin plugin, @NotNull Provider provider, long ttl, @NotNull TimeUnit unit) {
+        this.plugin = Objects.requireNonNull(plugin);
+        this.provider = Objects.requireNonNull(provider);
+        this.ttl = Objects.requireNonNull(unit).toNanos(ttl);
+        executor = task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    /**
+     * Get the completions of the last argument of a command.
+     * The provider is called asynchronously unless the completions are already cached.
+     *
+     * @param sender The {@link CommandSender} completing the command.
+     * @param args   The arguments of the command, the last one is the argument completed.
+     * @return A {@link CompletableFuture} completed with the list of completions.
+     */
+    public CompletableFuture<List<String>> complete(@NotNull CommandSender sender, @NotNull String... args) {
+        Objects.requireNonNull(sender);
+        Objects.requireNonNull(args);
+        if (args.length == 0) throw new IllegalArgumentException("Args cannot be empty");
+
+        String search = args[args.length - 1];
+        String key = CompletionIndex.key(String.join(" ", args));
+        int context = key.length() - search.length();
+        long now = System.nanoTime();
+
+        Map<String, Entry> entries = cache.computeIfAbsent(sender instanceof Player ? ((Player) sender).getUniqueId() : CONSOLE, k -> new ConcurrentHashMap<>());
+        entries.values().removeIf(entry -> entry.expiry - now < 0);
+
+        for (int length = key.length(); length >= context; length--) {
+            Entry entry = entries.get(key.substring(0, length));
+            if (entry == null) continue;
+            if (length == key.length()) return entry.completions;
+
+            CompletableFuture<List<String>> completions = entry.completions.thenApply(list -> narrow(list, search));
+            cache(entries, key, new Entry(completions, entry.expiry));
+            return completions;
+        }
+
+        String[] copy = args.clone();
+        CompletableFuture<List<String>> completions = CompletableFuture.supplyAsync(() -> {
+            List<String> list = provider.complete(sender, copy);
+            return list != null ? list : new ArrayList<>();
+        }, executor);
+        cache(entries, key, new Entry(completions, now + ttl));
+
+        return completions;
+    }
+
+    /**
+     * Complete the last argument of these commands with this completer when a player presses tab.
+     * The completions are only shown once they are cached, the event threads never wait for the provider: until then
+     * the command completions are shown. On Paper the cached completions are set in the asynchronous tab complete event.
+     * WARNING! Remember to unregister the completer when the plugin is disabled or reloaded with {@link #unregister()}.
+     *
+     * @param commands The names and aliases of the commands.
+     * @throws IllegalStateException if the completer is already registered.
+     */
+    public void register(@NotNull String... commands) {
+        Objects.requireNonNull(commands);
+        if (!this.commands.isEmpty()) throw new IllegalStateException("Completer already registered. Unregister it first.");
+
+        for (String command : commands) this.commands.add(command.toLowerCase(Locale.ROOT));
+        Bukkit.getPluginManager().registerEvents(listener, plugin);
+
+        Class<? extends Event> event;
+        try {
+            event = Class.forName(PAPER_EVENT, false, AsyncTabCompleter.class.getClassLoader()).asSubclass(Event.class);
+        } catch (ClassNotFoundException | ClassCastException ignored) {
+            return;
+        }
+
+        try {
+            PaperExecutor executor = new PaperExecutor(event);
+            Bukkit.getPluginManager().registerEvent(event, listener, EventPriority.NORMAL, executor, plugin, true);
+        } catch (NoSuchMethodException e) {
+            plugin.getLogger().warning("Cannot complete commands asynchronously: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop completing the commands with this completer and clear the cached completions.
+     */
+    public void unregister() {
+        HandlerList.unregisterAll(listener);
+        commands.clear();
+        cache.clear();
+    }
+
+    /**
+     * Removes the cached completions of a player.
+     *
+     * @param player The {@link Player} whose completions should be removed.
+     */
+    public void invalidate(@NotNull Player player) {
+        cache.remove(player.getUniqueId());
+    }
+
+    /**
+     * Removes all the cached completions.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    @Nullable
+    private String[] args(String buffer) {
+        if (buffer.startsWith("/")) buffer = buffer.substring(1);
+
+        String[] split = buffer.split(" ", -1);
+        if (split.length < 2) return null;
+
+        String command = split[0].toLowerCase(Locale.ROOT);
+        if (!commands.contains(command.substring(command.indexOf(':') + 1))) return null;
+
+        return Arrays.copyOfRange(split, 1, split.length);
+    }
+
+    private static void cache(Map<String, Entry> entries, String key, Entry entry) {
+        entries.put(key, entry);
+        // Failed completions are not cached, the provider is called again on the next keystroke
+        entry.completions.whenComplete((list, throwable) -> {
+            if (throwable != null) entries.remove(key, entry);
+        });
+    }
+
+    @Nullable
+    private static List<String> now(CompletableFuture<List<String>> completions) {
+        try {
+            return completions.getNow(null);
+        } catch (CompletionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    private static List<String> narrow(@Nullable List<String> completions, String search) {
+        List<String> matches = new ArrayList<>();
+        if (completions == null) return matches;
+
+        for (String completion : completions) {
+            if (completion.regionMatches(true, 0, search, 0, search.length())) matches.add(completion);
+        }
+
+        return matches;
+    }
+
+    @FunctionalInterface
+    public interface Provider {
+
+        /**
+         * Get the completions of the last argument of a command. This method is called asynchronously.
+         * The completions must contain all the completions starting with the last argument, because the completions
+         * of the next characters typed are narrowed from them.
+         *
+         * @param sender The {@link CommandSender} completing the command.
+         * @param args   The arguments of the command, the last one is the argument completed.
+         * @return The list of completions.
+         */
+        List<String> complete(@NotNull CommandSender sender, @NotNull String[] args);
+    }
+
+    private static class Entry {
+        private final CompletableFuture<List<String>> completions;
+        private final long expiry;
+
+        private Entry(CompletableFuture<List<String>> completions, long expiry) {
+            this.completions = completions;
+            this.expiry = expiry;
+        }
+    }
+
+    private class CompleterListener implements Listener {
+
+        @EventHandler(priority = EventPriority.NORMAL, ignoreCancelled = true)
+        public void onTabComplete(TabCompleteEvent event) {
+            String[] args = args(event.getBuffer());
+            if (args == null) return;
+
+            List<String> completions = now(complete(event.getSender(), args));
+            if (completions != null) event.setCompletions(completions);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            invalidate(event.getPlayer());
+        }
+    }
+
+    private class PaperExecutor implements EventExecutor {
+        private final Class<? extends Event> event;
+        private final Method getBuffer;
+        private final Method getSender;
+        private final Method isCommand;
+        private final Method isHandled;
+        private final Method setCompletions;
+        private final Method setHandled;
+
+        private PaperExecutor(Class<? extends Event> event) throws NoSuchMethodException {
+            this.event = event;
+            getBuffer = event.getMethod("getBuffer");
+            getSender = event.getMethod("getSender");
+            isCommand = event.getMethod("isCommand");
+            isHandled = event.getMethod("isHandled");
+            setCompletions = event.getMethod("setCompletions", List.class);
+            setHandled = event.getMethod("setHandled", boolean.class);
+        }
+
+        @Override
+        public void execute(@NotNull Listener listener, @NotNull Event event) throws EventException {
+            if (!this.event.isInstance(event)) return;
+
+            try {
+                if (!(boolean) isCommand.invoke(event) || (boolean) isHandled.invoke(event)) return;
+
+                String[] args = args((String) getBuffer.invoke(event));
+                if (args == null) return;
+
+                // The event can be fired on the main thread too, so it never waits for the provider:
+                // until the completions are cached they are left to the synchronous tab complete event
+                List<String> completions = now(complete((CommandSender) getSender.invoke(event), args));
+                if (completions == null) return;
+
+                setCompletions.invoke(event, completions);
+                setHandled.invoke(event, true);
+            } catch (ReflectiveOperationException e) {
+                throw new EventException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package it.multicoredev.mbcore.spigot.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class PermissionCache {
+    private final Map<UUID, Map<String, Boolean>> cache = new HashMap<>();
+
+    /**
+     * Cache of the permission checks of the online players.
+     * The cache is only used on the main thread, checks from other threads always query the player.
+     * The owner of the cache is responsible for clearing it, usually once per tick.
+     */
+    public PermissionCache() {
+    }
+
+    /**
+     * Checks if a player has a permission, using the cached result if the permission has already been checked.
+     *
+     * @param player     The {@link Player} to check.
+     * @param permission The permission to check.
+     * @return true if the player has the permission.
+     */
+    public boolean hasPermission(@NotNull Player player, @NotNull String permission) {
+        if (!Bukkit.isPrimaryThread()) return player.hasPermission(permission);
+        return cache.computeIfAbsent(player.getUniqueId(), k -> new HashMap<>()).computeIfAbsent(permission, player::hasPermission);
+    }
+
+    /**
+     * Removes the cached permissions of a player.
+     *
+     * @param player The {@link Player} whose permissions should be removed.
+     */
+    public void invalidate(@NotNull Player player) {
+        if (Bukkit.isPrimaryThread()) cache.remove(player.getUniqueId());
+    }
+
+    /**
+     * Removes all the cached permissions.
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -1,8 +1,23 @@
 package it.multicoredev.mbcore.spigot.util;
 
+import it.multicoredev.mbcore.common.util.CompletionIndex;
+import it.multicoredev.mbcore.common.util.FuzzyIndex;
+import it.multicoredev.mbcore.common.util.PlayerIndex;
 import org.bukkit.Bukkit;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.metadata.MetadataValue;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -42,6 +57,65 @@ import java.util.Objects;
  * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 public class TabCompleterUtil {
+    private static final String[] VANISH_EVENTS = {
+            "de.myzelyam.api.vanish.PlayerVanishStateChangeEvent",
+            "net.ess3.api.events.VanishStatusChangeEvent"
+    };
+    private static final IndexListener indexListener = new IndexListener();
+    private static volatile PlayerIndex players = null;
+    private static volatile CompletionIndex worlds = null;
+
+    /**
+     * Enables the indexes of the online player names and of the world names.
+     * The indexes are built once and then updated when a player joins or quits and when a world is loaded or unloaded,
+     * so {@link #getPlayers(String, boolean)} and {@link #getWorlds(String)} don't need to scan every player or world.
+     * The vanish status of the players is kept in the index and updated when SuperVanish, PremiumVanish or Essentials
+     * change it. Other vanish plugins must call {@link #updateVanished(Player)} after changing the "vanished" metadata.
+     * WARNING! Remember to disable the indexes when the plugin is disabled or reloaded with {@link #disableIndex()}.
+     *
+     * @param plugin The {@link Plugin} used to listen to the player and world events.
+     * @throws IllegalStateException if the indexes are already enabled.
+     */
+    public static synchronized void enableIndex(@NotNull Plugin plugin) {
+        Objects.requireNonNull(plugin);
+        if (players != null) throw new IllegalStateException("Index already enabled. Disable the previous index first.");
+
+        List<String> names = new ArrayList<>();
+        List<String> vanished = new ArrayList<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            names.add(player.getName());
+            if (isVanished(player)) vanished.add(player.getName());
+        }
+        List<String> worldNames = new ArrayList<>();
+        for (World world : Bukkit.getWorlds()) worldNames.add(world.getName());
+
+        players = PlayerIndex.of(names, vanished);
+        worlds = CompletionIndex.of(worldNames);
+        Bukkit.getPluginManager().registerEvents(indexListener, plugin);
+
+        // The vanish events are fired before the metadata changes, so the status is read again on the next tick
+        EventExecutor executor = (listener, event) -> Bukkit.getScheduler().runTask(plugin, TabCompleterUtil::refreshVanished);
+        for (String name : VANISH_EVENTS) {
+            Class<? extends Event> event;
+            try {
+                event = Class.forName(name, false, TabCompleterUtil.class.getClassLoader()).asSubclass(Event.class);
+            } catch (ClassNotFoundException | ClassCastException ignored) {
+                continue;
+            }
+
+            Bukkit.getPluginManager().registerEvent(event, indexListener, EventPriority.MONITOR, executor, plugin, true);
+        }
+    }
+
+    /**
+     * Disables the indexes of the online player names and of the world names.
+     * After this method the completions are searched scanning the online players and the worlds.
+     */
+    public static synchronized void disableIndex() {
+        HandlerList.unregisterAll(indexListener);
+        players = null;
+        worlds = null;
+    }
 
     /**
      * Get the list of player names starting with the searched characters.
@@ -52,17 +126,21 @@ public class TabCompleterUtil {
      * @return A list of player names.
      */
     public static List<String> getPlayers(@Nullable String search, boolean showVanished) {
+        PlayerIndex index = players;
+        if (index != null) return index.complete(search, showVanished);
+
         List<String> players = new ArrayList<>();
 
         if (search == null || search.trim().isEmpty()) {
             for (Player player : Bukkit.getOnlinePlayers()) {
-                if (isVanished(player) && !showVanished) continue;
+                if (!showVanished && isVanished(player)) continue;
                 players.add(player.getName());
             }
         } else {
             for (Player player : Bukkit.getOnlinePlayers()) {
-                if (isVanished(player) && !showVanished) continue;
-                if (player.getName().toLowerCase().startsWith(search.toLowerCase())) players.add(player.getName());
+                if (!startsWith(player.getName(), search)) continue;
+                if (!showVanished && isVanished(player)) continue;
+                players.add(player.getName());
             }
         }
 
@@ -93,14 +171,15 @@ public class TabCompleterUtil {
 
         if (search == null || search.isEmpty()) {
             for (Player player : Bukkit.getOnlinePlayers()) {
-                if (isVanished(player) && !showVanished) continue;
+                if (!showVanished && isVanished(player)) continue;
                 players.add(player.getDisplayName());
             }
         } else {
             for (Player player : Bukkit.getOnlinePlayers()) {
-                if (isVanished(player) && !showVanished) continue;
-                if (player.getDisplayName().toLowerCase().startsWith(search.toLowerCase()))
-                    players.add(player.getDisplayName());
+                String displayName = player.getDisplayName();
+                if (!startsWith(displayName, search)) continue;
+                if (!showVanished && isVanished(player)) continue;
+                players.add(displayName);
             }
         }
 
@@ -132,8 +211,7 @@ public class TabCompleterUtil {
         List<String> matches = new ArrayList<>();
 
         for (String completion : completions) {
-            if (!completion.toLowerCase().startsWith(search.toLowerCase())) continue;
-            matches.add(completion);
+            if (startsWith(completion, search)) matches.add(completion);
         }
 
         return matches;
@@ -153,13 +231,42 @@ public class TabCompleterUtil {
         List<String> matches = new ArrayList<>();
 
         for (String completion : completions) {
-            if (!completion.toLowerCase().startsWith(search.toLowerCase())) continue;
-            matches.add(completion);
+            if (startsWith(completion, search)) matches.add(completion);
         }
 
         return matches;
     }
 
+    /**
+     * Get a list of completions starting with the searched characters.
+     * Use this method for the completions that don't change, building the {@link CompletionIndex} only once.
+     *
+     * @param search      The starting characters of the completions searched.
+     *                    If null or empty all completions will be returned.
+     * @param completions The {@link CompletionIndex} of the completions.
+     * @return A list of completions in alphabetical order.
+     */
+    public static List<String> getCompletions(@Nullable String search, @NotNull CompletionIndex completions) {
+        Objects.requireNonNull(completions);
+        return completions.complete(search);
+    }
+
+    /**
+     * Get the completions best matching the searched characters, starting with them, containing them or
+     * containing them with some typos. Use this method for large sets of completions that don't change,
+     * building the {@link FuzzyIndex} only once.
+     *
+     * @param search      The characters searched.
+     *                    If null or empty the first completions in alphabetical order will be returned.
+     * @param completions The {@link FuzzyIndex} of the completions.
+     * @param limit       The maximum number of completions returned.
+     * @return A list of the best completions, the best one first.
+     */
+    public static List<String> getFuzzyCompletions(@Nullable String search, @NotNull FuzzyIndex completions, int limit) {
+        Objects.requireNonNull(completions);
+        return completions.search(search, limit);
+    }
+
     /**
      * Get the list of world names starting with the searched characters.
      *
@@ -168,13 +275,16 @@ public class TabCompleterUtil {
      * @return A list of world names.
      */
     public static List<String> getWorlds(@Nullable String search) {
+        CompletionIndex index = worlds;
+        if (index != null) return index.complete(search);
+
         List<String> worlds = new ArrayList<>();
 
         if (search == null || search.trim().isEmpty()) {
             Bukkit.getWorlds().forEach(world -> worlds.add(world.getName()));
         } else {
             Bukkit.getWorlds().forEach(world -> {
-                if (world.getName().toLowerCase().startsWith(search.toLowerCase())) worlds.add(world.getName());
+                if (startsWith(world.getName(), search)) worlds.add(world.getName());
             });
         }
 
@@ -195,4 +305,75 @@ public class TabCompleterUtil {
         }
         return false;
     }
+
+    /**
+     * Update the vanish status of a player in the index of the online player names.
+     * Call this method after changing the "vanished" metadata of a player if the vanish plugin isn't supported by
+     * {@link #enableIndex(Plugin)}. If the index is not enabled this method does nothing.
+     *
+     * @param player The player whose vanish status changed.
+     */
+    public static synchronized void updateVanished(@NotNull Player player) {
+        Objects.requireNonNull(player);
+        if (players == null) return;
+        players = players.vanished(player.getName(), isVanished(player));
+    }
+
+    private static boolean startsWith(String text, String search) {
+        return text.regionMatches(true, 0, search, 0, search.length());
+    }
+
+    private static synchronized void addPlayer(Player player) {
+        if (players == null) return;
+        players = players.with(player.getName(), isVanished(player));
+    }
+
+    private static synchronized void removePlayer(Player player) {
+        if (players == null) return;
+        players = players.without(player.getName());
+    }
+
+    private static synchronized void refreshVanished() {
+        if (players == null) return;
+
+        PlayerIndex index = players;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            index = index.vanished(player.getName(), isVanished(player));
+        }
+        players = index;
+    }
+
+    private static synchronized void updateWorlds(String name, boolean add) {
+        if (worlds == null) return;
+        worlds = add ? worlds.with(name) : worlds.without(name);
+    }
+
+    private static class IndexListener implements Listener {
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        public void onPlayerJoin(PlayerJoinEvent event) {
+            addPlayer(event.getPlayer());
+        }
+
+        // Vanish plugins hide the players while they are joining
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerJoined(PlayerJoinEvent event) {
+            updateVanished(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onPlayerQuit(PlayerQuitEvent event) {
+            removePlayer(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onWorldLoad(WorldLoadEvent event) {
+            updateWorlds(event.getWorld().getName(), true);
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onWorldUnload(WorldUnloadEvent event) {
+            updateWorlds(event.getWorld().getName(), false);
+        }
+    }
 }
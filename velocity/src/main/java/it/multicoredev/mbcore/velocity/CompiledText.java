@@ -0,0 +1,258 @@
+package it.multicoredev.mbcore.velocity;
+
+import com.google.common.base.Preconditions;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public final class CompiledText {
+    private static final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private static final char MARKER = '\uF8FF';
+    private static final char SLOT_BASE = '\uE000';
+    private static final int MAX_SLOTS = 256;
+
+    private final String template;
+    private final List<String> slots;
+    private final Component tree;
+    private final boolean hasSlots;
+
+    private CompiledText(String template, List<String> slots, Component tree, boolean hasSlots) {
+        this.template = template;
+        this.slots = slots;
+        this.tree = tree;
+        this.hasSlots = hasSlots;
+    }
+
+    /**
+     * Compiles a MiniMessage text with placeholder slots.
+     * The text is parsed once, every slot tag (Eg. &lt;player&gt;) is kept as a slot in the parsed tree and is filled
+     * when the text is rendered, without parsing the text again.
+     *
+     * @param template    The text to compile.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle, resolved once at compile time.
+     * @param slots       The names of the slot tags.
+     * @return The compiled text.
+     * @throws NullPointerException     if the template or the slots are null.
+     * @throws IllegalArgumentException if there are more than 256 slots.
+     */
+    public static CompiledText compile(@NotNull String template, @Nullable TagResolver tagResolver, @NotNull String... slots) {
+        Preconditions.checkNotNull(template, "Template cannot be null");
+        Preconditions.checkNotNull(slots, "Slots cannot be null");
+        if (slots.length > MAX_SLOTS) throw new IllegalArgumentException("A text cannot have more than " + MAX_SLOTS + " slots");
+
+        TagResolver.Builder builder = TagResolver.builder();
+        if (tagResolver != null) builder.resolver(tagResolver);
+        for (int i = 0; i < slots.length; i++) {
+            Preconditions.checkNotNull(slots[i], "Slot cannot be null");
+            String marker = new String(new char[]{MARKER, (char) (SLOT_BASE + i)});
+            builder.tag(slots[i], Tag.selfClosingInserting(Component.text().content(marker).insertion(marker)));
+        }
+
+        Component tree = miniMessage.deserialize(template, builder.build());
+        return new CompiledText(template, Collections.unmodifiableList(Arrays.asList(slots.clone())), tree, containsSlot(tree));
+    }
+
+    /**
+     * Compiles a MiniMessage text with placeholder slots.
+     *
+     * @param template The text to compile.
+     * @param slots    The names of the slot tags.
+     * @return The compiled text.
+     * @throws NullPointerException     if the template or the slots are null.
+     * @throws IllegalArgumentException if there are more than 256 slots.
+     */
+    public static CompiledText compile(@NotNull String template, @NotNull String... slots) {
+        return compile(template, null, slots);
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public List<String> getSlots() {
+        return slots;
+    }
+
+    /**
+     * Renders the text filling the slots with the provided values, in the same order of the slots.
+     * Missing or null values leave the slot empty.
+     *
+     * @param values The values of the slots.
+     * @return The rendered text.
+     */
+    public Component render(@NotNull ComponentLike... values) {
+        Preconditions.checkNotNull(values, "Values cannot be null");
+        if (!hasSlots) return tree;
+
+        Component[] components = new Component[slots.size()];
+        for (int i = 0; i < components.length && i < values.length; i++) {
+            if (values[i] != null) components[i] = values[i].asComponent();
+        }
+
+        return fill(tree, components);
+    }
+
+    /**
+     * Renders the text filling the slots with the provided values, inserted as plain text.
+     * Missing or null values leave the slot empty.
+     *
+     * @param values The values of the slots.
+     * @return The rendered text.
+     */
+    public Component render(@NotNull String... values) {
+        Preconditions.checkNotNull(values, "Values cannot be null");
+        if (!hasSlots) return tree;
+
+        Component[] components = new Component[slots.size()];
+        for (int i = 0; i < components.length && i < values.length; i++) {
+            if (values[i] != null) components[i] = Component.text(values[i]);
+        }
+
+        return fill(tree, components);
+    }
+
+    /**
+     * Renders the text filling the slots with the values mapped to their names.
+     * Missing or null values leave the slot empty.
+     *
+     * @param values The values of the slots by slot name.
+     * @return The rendered text.
+     */
+    public Component render(@NotNull Map<String, ? extends ComponentLike> values) {
+        Preconditions.checkNotNull(values, "Values cannot be null");
+        if (!hasSlots) return tree;
+
+        Component[] components = new Component[slots.size()];
+        for (int i = 0; i < components.length; i++) {
+            ComponentLike value = values.get(slots.get(i));
+            if (value != null) components[i] = value.asComponent();
+        }
+
+        return fill(tree, components);
+    }
+
+    /**
+     * Gets the compiled tree with empty slots.
+     *
+     * @return The compiled text.
+     */
+    public Component asComponent() {
+        return hasSlots ? fill(tree, new Component[slots.size()]) : tree;
+    }
+
+    private static int slotOf(Component component) {
+        String insertion = component.insertion();
+        if (insertion == null || insertion.length() != 2 || insertion.charAt(0) != MARKER) return -1;
+        return insertion.charAt(1) - SLOT_BASE;
+    }
+
+    private static boolean containsSlot(Component component) {
+        if (slotOf(component) >= 0) return true;
+
+        for (Component child : component.children()) {
+            if (containsSlot(child)) return true;
+        }
+
+        HoverEvent<?> hover = component.hoverEvent();
+        if (hover != null && hover.value() instanceof Component && containsSlot((Component) hover.value())) return true;
+
+        if (component instanceof TranslatableComponent) {
+            for (Component arg : ((TranslatableComponent) component).args()) {
+                if (containsSlot(arg)) return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static Component fill(Component component, Component[] values) {
+        int slot = slotOf(component);
+        if (slot >= 0) {
+            Component value = values[slot];
+            if (value == null) value = Component.empty();
+
+            Style style = component.style().edit(builder -> builder.insertion(null));
+            return style.isEmpty() ? value : value.applyFallbackStyle(style);
+        }
+
+        Component result = component;
+
+        List<Component> children = fill(component.children(), values);
+        if (children != null) result = result.children(children);
+
+        HoverEvent<?> hover = result.hoverEvent();
+        if (hover != null && hover.value() instanceof Component) {
+            Component text = (Component) hover.value();
+            Component filled = fill(text, values);
+            if (filled != text) result = result.hoverEvent(HoverEvent.showText(filled));
+        }
+
+        if (result instanceof TranslatableComponent) {
+            List<Component> args = fill(((TranslatableComponent) result).args(), values);
+            if (args != null) result = ((TranslatableComponent) result).args(args);
+        }
+
+        return result;
+    }
+
+    @Nullable
+    private static List<Component> fill(List<Component> components, Component[] values) {
+        List<Component> filled = null;
+
+        for (int i = 0; i < components.size(); i++) {
+            Component component = components.get(i);
+            Component result = fill(component, values);
+
+            if (filled == null && result != component) {
+                filled = new ArrayList<>(components.size());
+                filled.addAll(components.subList(0, i));
+            }
+            if (filled != null) filled.add(result);
+        }
+
+        return filled;
+    }
+}
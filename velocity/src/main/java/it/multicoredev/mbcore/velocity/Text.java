@@ -0,0 +1,2168 @@
+package it.multicoredev.mbcore.velocity;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.command.CommandSource;
+import com.velocitypowered.api.permission.PermissionSubject;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import it.multicoredev.mbcore.velocity.util.ComponentCache;
+import it.multicoredev.mbcore.velocity.util.StaticTagResolver;
+import it.multicoredev.mbcore.velocity.util.TemplateCache;
+import net.kyori.adventure.audience.Audience;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.title.Title;
+import net.kyori.adventure.title.TitlePart;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.CharBuffer;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class Text {
+    private static final MiniMessage miniMessage = MiniMessage.miniMessage();
+    private static final LegacyComponentSerializer legacySerializer = LegacyComponentSerializer.legacyAmpersand();
+    private static final String[] LEGACY_TAGS = new String[128];
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    private static final int MAX_BUILDER_CAPACITY = 8192;
+    private static final BiFunction<String, TagResolver, Component> PARSER = (text, tagResolver) -> tagResolver == null ? miniMessage.deserialize(text) : miniMessage.deserialize(text, tagResolver);
+    private static final BiFunction<String, TagResolver, String> STRIPPER = (text, tagResolver) -> tagResolver == null ? miniMessage.stripTags(text) : miniMessage.stripTags(text, tagResolver);
+    private static final BiFunction<String, TagResolver, String> LEGACY_SERIALIZER = (text, tagResolver) -> legacySerializer.serialize(deserialize(text, tagResolver));
+    private static final int PARALLEL_THRESHOLD = 64;
+    private static volatile ComponentCache cache = new ComponentCache();
+    private static volatile TemplateCache<String> strippedCache = new TemplateCache<>();
+    private static volatile TemplateCache<String> legacyCache = new TemplateCache<>();
+
+    static {
+        String codes = "0123456789abcdefklmnor";
+        String[] tags = {"<black>", "<dark_blue>", "<dark_green>", "<dark_aqua>", "<dark_red>", "<dark_purple>", "<gold>", "<grey>",
+                "<dark_grey>", "<blue>", "<green>", "<aqua>", "<red>", "<light_purple>", "<yellow>", "<white>",
+                "<obf>", "<b>", "<st>", "<u>", "<i>", "<reset>"};
+
+        for (int i = 0; i < codes.length(); i++) {
+            LEGACY_TAGS[codes.charAt(i)] = tags[i];
+            LEGACY_TAGS[Character.toUpperCase(codes.charAt(i))] = tags[i];
+        }
+    }
+
+    private static Text instance = null;
+    private final ProxyServer proxy;
+
+    private Text(ProxyServer proxy) {
+        this.proxy = proxy;
+    }
+
+    /**
+     * Retrieves the existing instance of the Text class, if it has been created.
+     *
+     * @return The existing Text instance, or null if no instance has been created yet.
+     */
+    @Nullable
+    public static Text get() {
+        return instance;
+    }
+
+    /**
+     * Creates an instance of the Text class with the provided ProxyServer.
+     * Velocity players and command sources are already {@link Audience}s, so the components are sent to them directly
+     * without any conversion.
+     * WARNING! Remember to destroy the instance of this class when the plugin is disabled or reloaded with {@link Text#destroy()}.
+     *
+     * @param proxy The {@link ProxyServer} to associate with the Text instance.
+     * @return The created Text instance.
+     * @throws NullPointerException  if the proxy is null.
+     * @throws IllegalStateException if a Text instance has already been created. To create a new instance,
+     *                               you must destroy the previous instance first.
+     */
+    public static Text create(@NotNull ProxyServer proxy) {
+        Preconditions.checkNotNull(proxy, "Proxy cannot be null");
+        if (instance != null)
+            throw new IllegalStateException("Text instance already created. Destroy the previous instance first.");
+        instance = new Text(proxy);
+        return instance;
+    }
+
+    /**
+     * Destroys the existing instance of the Text class, if it has been created.
+     * This method sets the instance to null, making it eligible for garbage collection.
+     *
+     * @throws IllegalStateException if no Text instance has been created to destroy.
+     */
+    public static void destroy() {
+        if (instance == null) throw new IllegalStateException("Text instance not created.");
+        instance = null;
+    }
+
+    /**
+     * Concatenates elements of a string array into a single string starting from a specific offset.
+     *
+     * @param args   The array of strings to concatenate.
+     * @param offset The starting index for concatenation.
+     * @return A string containing elements of the array concatenated from the specified offset, separated by a space.
+     * null if the array is null, or an empty string if the array is empty or the offset is greater than or equal to the array's length.
+     * @throws IllegalArgumentException if the offset is negative.
+     */
+    public static String join(String[] args, int offset) {
+        if (offset < 0) throw new IllegalArgumentException("Offset cannot be negative");
+        if (args == null) return null;
+        if (offset > args.length) return "";
+        if (args.length == 0) return "";
+
+        StringBuilder builder = new StringBuilder();
+        for (; offset < args.length; offset++) {
+            builder.append(args[offset]);
+            if (offset < args.length - 1) builder.append(" ");
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Concatenates elements of a string array into a single string.
+     *
+     * @param args The array of strings to concatenate.
+     * @return A string containing elements of the array concatenated from the specified offset, separated by a space.
+     * null if the array is null, or an empty string if the array is empty.
+     */
+    public static String join(String[] args) {
+        return join(args, 0);
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage text, so that they are ignored in deserialization.
+     * Texts without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)}) are cached.
+     *
+     * @param text        The text with tags to remove.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return The text without tags. null if the input text is null.
+     */
+    public static String stripFormatting(String text, TagResolver tagResolver) {
+        if (text == null) return null;
+        if (tagResolver == null || tagResolver instanceof StaticTagResolver) return strippedCache.get(text, tagResolver, STRIPPER);
+        return STRIPPER.apply(text, tagResolver);
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage text, so that they are ignored in deserialization.
+     *
+     * @param text The text with tags to remove.
+     * @return The text without tags. null if the input text is null.
+     */
+    public static String stripFormatting(String text) {
+        return stripFormatting(text, null);
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts, so that they are ignored in deserialization.
+     *
+     * @param texts       The texts with tags to remove.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return An array of texts without tags or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static String[] stripFormatting(String[] texts, TagResolver tagResolver) {
+        if (texts == null) return null;
+        if (texts.length == 0) return new String[]{};
+
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = stripFormatting(texts[i], tagResolver);
+        }
+
+        return texts;
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts, so that they are ignored in deserialization.
+     *
+     * @param texts The texts with tags to remove.
+     * @return An array of texts without tags or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static String[] stripFormatting(String[] texts) {
+        return stripFormatting(texts, null);
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts, so that they are ignored in deserialization.
+     *
+     * @param collection  The collection of texts with tags to remove.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <C>         The type of the collection.
+     * @return A collection of texts without tags or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> C stripFormatting(C collection, TagResolver tagResolver) {
+        return convert(collection, text -> stripFormatting(text, tagResolver));
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts, so that they are ignored in deserialization.
+     *
+     * @param collection The collection of texts with tags to remove.
+     * @param <C>        The type of the collection.
+     * @return A collection of texts without tags or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> C stripFormatting(C collection) {
+        return stripFormatting(collection, null);
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts and writes the results in the output array.
+     * The input array is not modified.
+     *
+     * @param texts       The texts with tags to remove.
+     * @param output      The array to write the texts without tags to, it can be the input array itself.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return The output array.
+     * @throws NullPointerException     if the texts or the output is null.
+     * @throws IllegalArgumentException if the output is shorter than the texts.
+     */
+    public static String[] stripFormatting(@NotNull String[] texts, @NotNull String[] output, TagResolver tagResolver) {
+        return convert(texts, output, text -> stripFormatting(text, tagResolver));
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts and passes the results to the output, one at a time and in order.
+     * The input texts are not modified.
+     *
+     * @param texts       The texts with tags to remove.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param output      The consumer of the texts without tags, for example a collection's add method.
+     * @throws NullPointerException if the texts or the output is null.
+     */
+    public static void stripFormatting(@NotNull Iterable<String> texts, TagResolver tagResolver, @NotNull Consumer<? super String> output) {
+        convert(texts, output, text -> stripFormatting(text, tagResolver));
+    }
+
+    /**
+     * Removes all known tags in the input MiniMessage texts using the common fork-join pool.
+     * Worth it for long lists like lore or book pages, shorter lists are processed on the calling thread.
+     * The input list is not modified.
+     *
+     * @param texts       The texts with tags to remove.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle, it must be thread-safe.
+     * @return A new list with the texts without tags, in the same order as the input.
+     * @throws NullPointerException if the texts is null.
+     */
+    public static List<String> stripFormattingParallel(@NotNull List<String> texts, TagResolver tagResolver) {
+        return convertParallel(texts, text -> stripFormatting(text, tagResolver));
+    }
+
+    /**
+     * Removes all legacy formatting tag in the input text, so that they are ignored in deserialization.
+     * Both &amp; and § codes are removed, including the &amp;#RRGGBB and &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B hex colors.
+     *
+     * @param text The text with tags to remove.
+     * @return The text without tags, the same instance if the text has no tags. null if the input text is null.
+     */
+    public static String stripLegacyFormatting(String text) {
+        if (text == null) return null;
+
+        int length = text.length();
+        int i = 0;
+        while (i < length && legacyCodeLength(text, i, length) == 0) i++;
+        if (i == length) return text;
+
+        StringBuilder builder = builder(length);
+        builder.append(text, 0, i);
+
+        while (i < length) {
+            int code = legacyCodeLength(text, i, length);
+            if (code > 0) {
+                i += code;
+                continue;
+            }
+
+            builder.append(text.charAt(i++));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Removes all legacy formatting tag in a range of a char array, in place.
+     * The remaining chars are moved to the start of the range, the chars after the returned length are left untouched.
+     *
+     * @param chars  The chars with tags to remove.
+     * @param offset The start of the range.
+     * @param length The length of the range.
+     * @return The length of the range without tags.
+     * @throws NullPointerException      if the chars are null.
+     * @throws IndexOutOfBoundsException if the range is out of the array bounds.
+     */
+    public static int stripLegacyFormatting(@NotNull char[] chars, int offset, int length) {
+        Preconditions.checkNotNull(chars, "Chars cannot be null");
+        Preconditions.checkPositionIndexes(offset, offset + length, chars.length);
+
+        CharSequence sequence = CharBuffer.wrap(chars);
+        int end = offset + length;
+        int write = offset;
+
+        for (int read = offset; read < end; ) {
+            int code = legacyCodeLength(sequence, read, end);
+            if (code > 0) {
+                read += code;
+                continue;
+            }
+
+            chars[write++] = chars[read++];
+        }
+
+        return write - offset;
+    }
+
+    /**
+     * Removes all legacy formatting tag in a char array, in place.
+     *
+     * @param chars The chars with tags to remove.
+     * @return The length of the text without tags, stored at the start of the array.
+     * @throws NullPointerException if the chars are null.
+     */
+    public static int stripLegacyFormatting(@NotNull char[] chars) {
+        Preconditions.checkNotNull(chars, "Chars cannot be null");
+        return stripLegacyFormatting(chars, 0, chars.length);
+    }
+
+    /**
+     * Removes all legacy formatting tag in the input texts, so that they are ignored in deserialization.
+     *
+     * @param texts The texts with tags to remove.
+     * @return An array of texts without tags or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static String[] stripLegacyFormatting(String[] texts) {
+        if (texts == null) return null;
+
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = stripLegacyFormatting(texts[i]);
+        }
+
+        return texts;
+    }
+
+    /**
+     * Removes all legacy formatting tag in the input texts, so that they are ignored in deserialization.
+     *
+     * @param collection The collection of texts with tags to remove.
+     * @param <C>        The type of the collection.
+     * @return A collection of texts without tags or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> C stripLegacyFormatting(C collection) {
+        return convert(collection, Text::stripLegacyFormatting);
+    }
+
+    /**
+     * Serializes a text to a legacy ampersand string.
+     * Texts without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)}) are cached.
+     *
+     * @param text        The text to serialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return The serialized text.
+     * null if the input text is null.
+     */
+    public static String toLegacyText(String text, TagResolver tagResolver) {
+        if (text == null) return null;
+        if (tagResolver == null || tagResolver instanceof StaticTagResolver) return legacyCache.get(text, tagResolver, LEGACY_SERIALIZER);
+        return LEGACY_SERIALIZER.apply(text, tagResolver);
+    }
+
+    /**
+     * Serializes a text to a legacy ampersand string.
+     *
+     * @param text The text to serialize.
+     * @return The serialized text.
+     * null if the input text is null.
+     */
+    public static String toLegacyText(String text) {
+        return toLegacyText(text, null);
+    }
+
+    /**
+     * Serializes texts to a legacy ampersand string.
+     *
+     * @param texts       The texts to serialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return An array of serialized texts or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static String[] toLegacyText(String[] texts, TagResolver tagResolver) {
+        if (texts == null) return null;
+
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = toLegacyText(texts[i], tagResolver);
+        }
+
+        return texts;
+    }
+
+    /**
+     * Serializes texts to a legacy ampersand string.
+     *
+     * @param texts The texts to serialize.
+     * @return An array of serialized texts or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static String[] toLegacyText(String[] texts) {
+        return toLegacyText(texts, null);
+    }
+
+    /**
+     * Serializes texts to a legacy ampersand string.
+     *
+     * @param collection  The collection of texts to serialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <C>         The type of the collection.
+     * @return A collection of serialized texts or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> C toLegacyText(C collection, TagResolver tagResolver) {
+        return convert(collection, text -> toLegacyText(text, tagResolver));
+    }
+
+    /**
+     * Serializes texts to a legacy ampersand string.
+     *
+     * @param collection The collection of texts to serialize.
+     * @param <C>        The type of the collection.
+     * @return A collection of serialized texts or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> C toLegacyText(C collection) {
+        return toLegacyText(collection, null);
+    }
+
+    /**
+     * Serializes texts to legacy ampersand strings and writes the results in the output array.
+     * The input array is not modified.
+     *
+     * @param texts       The texts to serialize.
+     * @param output      The array to write the serialized texts to, it can be the input array itself.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return The output array.
+     * @throws NullPointerException     if the texts or the output is null.
+     * @throws IllegalArgumentException if the output is shorter than the texts.
+     */
+    public static String[] toLegacyText(@NotNull String[] texts, @NotNull String[] output, TagResolver tagResolver) {
+        return convert(texts, output, text -> toLegacyText(text, tagResolver));
+    }
+
+    /**
+     * Serializes texts to legacy ampersand strings and passes the results to the output, one at a time and in order.
+     * The input texts are not modified.
+     *
+     * @param texts       The texts to serialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param output      The consumer of the serialized texts, for example a collection's add method.
+     * @throws NullPointerException if the texts or the output is null.
+     */
+    public static void toLegacyText(@NotNull Iterable<String> texts, TagResolver tagResolver, @NotNull Consumer<? super String> output) {
+        convert(texts, output, text -> toLegacyText(text, tagResolver));
+    }
+
+    /**
+     * Serializes texts to legacy ampersand strings using the common fork-join pool.
+     * Worth it for long lists like lore or book pages, shorter lists are processed on the calling thread.
+     * The input list is not modified.
+     *
+     * @param texts       The texts to serialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle, it must be thread-safe.
+     * @return A new list with the serialized texts, in the same order as the input.
+     * @throws NullPointerException if the texts is null.
+     */
+    public static List<String> toLegacyTextParallel(@NotNull List<String> texts, TagResolver tagResolver) {
+        return convertParallel(texts, text -> toLegacyText(text, tagResolver));
+    }
+
+    /**
+     * Converts a legacy text to a MiniMessage text.
+     * Both &amp; and § codes are converted, including the &amp;#RRGGBB and &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B hex colors.
+     *
+     * @param text The text to convert.
+     * @return the converted text or null if the input text is null.
+     */
+    public static String toMiniMessage(String text) {
+        if (text == null) return null;
+
+        int length = text.length();
+        StringBuilder builder = builder(length + 16);
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if ((c == '&' || c == '§') && i + 1 < length) {
+                char code = text.charAt(i + 1);
+
+                if (code == '#' && isHex(text, length, i + 2, 6, 1)) {
+                    builder.append("<#").append(text, i + 2, i + 8).append('>');
+                    i += 7;
+                    continue;
+                }
+
+                if ((code == 'x' || code == 'X') && isHex(text, length, i + 3, 6, 2)) {
+                    builder.append("<#");
+                    for (int j = i + 3; j < i + 14; j += 2) builder.append(text.charAt(j));
+                    builder.append('>');
+                    i += 13;
+                    continue;
+                }
+
+                String tag = code < LEGACY_TAGS.length ? LEGACY_TAGS[code] : null;
+                if (tag != null) {
+                    builder.append(tag);
+                    i++;
+                    continue;
+                }
+
+                if (code == 'x' || code == 'X') {
+                    builder.append("&x");
+                    i++;
+                    continue;
+                }
+            }
+
+            builder.append(c);
+        }
+
+        return builder.toString();
+    }
+
+    private static int legacyCodeLength(CharSequence text, int index, int end) {
+        char c = text.charAt(index);
+        if ((c != '&' && c != '§') || index + 1 >= end) return 0;
+
+        char code = text.charAt(index + 1);
+        if (code == '#') return isHex(text, end, index + 2, 6, 1) ? 8 : 0;
+        if (code == 'x' || code == 'X') return isHex(text, end, index + 3, 6, 2) ? 14 : 2;
+        return code < LEGACY_TAGS.length && LEGACY_TAGS[code] != null ? 2 : 0;
+    }
+
+    private static boolean isHex(CharSequence text, int end, int offset, int digits, int step) {
+        if (offset + (digits - 1) * step >= end) return false;
+
+        for (int i = 0; i < digits; i++) {
+            int index = offset + i * step;
+            if (step == 2) {
+                char prefix = text.charAt(index - 1);
+                if (prefix != '&' && prefix != '§') return false;
+            }
+
+            char c = text.charAt(index);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+        }
+
+        return true;
+    }
+
+    private static StringBuilder builder(int capacity) {
+        StringBuilder builder = BUILDER.get();
+        if (builder.capacity() > MAX_BUILDER_CAPACITY) {
+            builder = new StringBuilder(capacity);
+            BUILDER.set(builder);
+        }
+
+        builder.setLength(0);
+        builder.ensureCapacity(capacity);
+        return builder;
+    }
+
+    /**
+     * Wraps a {@link TagResolver} whose tags always resolve to the same values, so the texts deserialized with it can be
+     * cached like the texts without a resolver. The returned resolver must be kept and reused, every call creates a
+     * new cache key.
+     *
+     * @param tagResolver The {@link TagResolver} to wrap.
+     * @return The static {@link TagResolver}.
+     */
+    public static StaticTagResolver staticResolver(@NotNull TagResolver tagResolver) {
+        Preconditions.checkNotNull(tagResolver, "TagResolver cannot be null");
+        if (tagResolver instanceof StaticTagResolver) return (StaticTagResolver) tagResolver;
+        return new StaticTagResolver(tagResolver);
+    }
+
+    /**
+     * Gets the cache of the deserialized texts.
+     * Texts deserialized without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)})
+     * are parsed once and then served from this cache.
+     *
+     * @return The {@link ComponentCache} used by the deserialize methods.
+     */
+    public static ComponentCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Replaces the cache of the deserialized texts, and the caches of the stripped and legacy texts, with new empty ones.
+     *
+     * @param maximumSize The maximum number of cached texts.
+     * @throws IllegalArgumentException if the maximum size is lower than 1.
+     */
+    public static void setCacheSize(int maximumSize) {
+        cache = new ComponentCache(maximumSize);
+        strippedCache = new TemplateCache<>(maximumSize);
+        legacyCache = new TemplateCache<>(maximumSize);
+    }
+
+    /**
+     * Deserializes a MiniMessage text.
+     * Texts without a {@link TagResolver} or with a static one (see {@link #staticResolver(TagResolver)}) are cached.
+     *
+     * @param text        The text to deserialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return The deserialized text.
+     * null if the input text is null.
+     */
+    public static Component deserialize(String text, TagResolver tagResolver) {
+        if (text == null) return null;
+        if (tagResolver == TagResolver.empty()) tagResolver = null;
+        if (tagResolver == null || tagResolver instanceof StaticTagResolver) return cache.get(text, tagResolver, PARSER);
+        return miniMessage.deserialize(text, tagResolver);
+    }
+
+    /**
+     * Deserializes a MiniMessage text.
+     *
+     * @param text The text to deserialize.
+     * @return The deserialized text.
+     * null if the input text is null.
+     */
+    public static Component deserialize(String text) {
+        return deserialize(text, null);
+    }
+
+    /**
+     * Deserializes MiniMessage texts.
+     *
+     * @param texts       The texts to deserialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @return An array of deserialized texts or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static Component[] deserialize(String[] texts, TagResolver tagResolver) {
+        if (texts == null) return null;
+
+        Component[] components = new Component[texts.length];
+
+        for (int i = 0; i < texts.length; i++) {
+            components[i] = deserialize(texts[i], tagResolver);
+        }
+
+        return components;
+    }
+
+    /**
+     * Deserializes MiniMessage texts.
+     *
+     * @param texts The texts to deserialize.
+     * @return An array of deserialized texts or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static Component[] deserialize(String[] texts) {
+        return deserialize(texts, null);
+    }
+
+    /**
+     * Deserializes MiniMessage texts.
+     *
+     * @param collection  The collection of texts to deserialize.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <C>         The type of the collection.
+     * @return A collection of deserialized texts or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> List<Component> deserialize(C collection, TagResolver tagResolver) {
+        if (collection == null) return null;
+
+        List<Component> components = new ArrayList<>();
+        for (String text : collection) {
+            components.add(deserialize(text, tagResolver));
+        }
+
+        return components;
+    }
+
+    /**
+     * Deserializes MiniMessage texts.
+     *
+     * @param collection The collection of texts to deserialize.
+     * @param <C>        The type of the collection.
+     * @return A collection of deserialized texts or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> List<Component> deserialize(C collection) {
+        return deserialize(collection, null);
+    }
+
+    /**
+     * Deserializes a legacy formatted text.
+     *
+     * @param text The text to deserialize.
+     * @return The deserialized text.
+     * null if the input text is null.
+     */
+    public static Component deserializeLegacy(String text) {
+        if (text == null) return null;
+        return legacySerializer.deserialize(text);
+    }
+
+    /**
+     * Deserializes legacy formatted texts.
+     *
+     * @param texts The texts to deserialize.
+     * @return An array of deserialized texts or an empty array if no texts are provided.
+     * null if the input texts array is null.
+     */
+    public static Component[] deserializeLegacy(String[] texts) {
+        if (texts == null) return null;
+
+        Component[] components = new Component[texts.length];
+
+        for (int i = 0; i < texts.length; i++) {
+            components[i] = deserializeLegacy(texts[i]);
+        }
+
+        return components;
+    }
+
+    /**
+     * Deserializes legacy formatted texts.
+     *
+     * @param collection The collection of texts to deserialize.
+     * @param <C>        The type of the collection.
+     * @return A collection of deserialized texts or an empty iterable if no texts are provided.
+     * null if the input iterable is null.
+     */
+    public static <C extends Collection<String>> List<Component> deserializeLegacy(C collection) {
+        if (collection == null) return null;
+
+        List<Component> components = new ArrayList<>();
+        for (String text : collection) {
+            components.add(deserializeLegacy(text));
+        }
+
+        return components;
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    SEND    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Sends a text to a {@link CommandSource} or a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param text        The text to send.
+     * @param receiver    The receiver of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource receiver, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receiver, "Receiver cannot be null");
+
+        receiver.sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Sends a text to a {@link CommandSource} or a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param text     The text to send.
+     * @param receiver The receiver of the text.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource receiver) {
+        send(text, receiver, null);
+    }
+
+    /**
+     * Sends a text to a {@link CommandSource} or a {@link Player}.
+     *
+     * @param text            The text to send.
+     * @param receiver        The receiver of the text.
+     * @param tagResolver     The {@link TagResolver} for any additional tags to handle.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource receiver, TagResolver tagResolver, boolean stripFormatting) {
+        if (stripFormatting) {
+            send(stripFormatting(text, tagResolver), receiver, tagResolver);
+        } else {
+            send(text, receiver, tagResolver);
+        }
+    }
+
+    /**
+     * Sends a text to a {@link CommandSource} or a {@link Player}.
+     *
+     * @param text            The text to send.
+     * @param receiver        The receiver of the text.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource receiver, boolean stripFormatting) {
+        send(text, receiver, null, stripFormatting);
+    }
+
+    /**
+     * Sends a text to a {@link CommandSource} or a {@link Player}.
+     * If the sender has at least one of the provided permissions, the text is deserialized before being sent.
+     *
+     * @param text        The text to send.
+     * @param receiver    The receiver of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param sender      The sender of the text.
+     * @param permissions The permissions to check.
+     * @throws NullPointerException if the text, the receiver, the sender or the permissions is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource receiver, TagResolver tagResolver, @NotNull CommandSource sender, @NotNull String... permissions) {
+        send(text, receiver, tagResolver, !hasAnyPermission(sender, permissions));
+    }
+
+    /**
+     * Sends a text to a {@link CommandSource} or a {@link Player}.
+     * If the sender has at least one of the provided permissions, the text is deserialized before being sent.
+     *
+     * @param text        The text to send.
+     * @param receiver    The receiver of the text.
+     * @param sender      The sender of the text.
+     * @param permissions The permissions to check.
+     * @throws NullPointerException if the text, the receiver or the sender or the permissions is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource receiver, @NotNull CommandSource sender, @NotNull String... permissions) {
+        send(text, receiver, null, sender, permissions);
+    }
+
+    /**
+     * Sends a component to a {@link CommandSource} or a {@link Player}.
+     *
+     * @param component The component to send.
+     * @param receiver  The receiver of the component.
+     * @throws NullPointerException if the component or the receiver is null.
+     */
+    public void send(@NotNull Component component, @NotNull CommandSource receiver) {
+        Preconditions.checkNotNull(component, "Component cannot be null");
+        Preconditions.checkNotNull(receiver, "Receiver cannot be null");
+
+        receiver.sendMessage(component);
+    }
+
+    /**
+     * Sends a compiled text with empty slots to a {@link CommandSource} or a {@link Player}.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSource receiver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.asComponent(), receiver);
+    }
+
+    /**
+     * Sends a compiled text to a {@link CommandSource} or a {@link Player}.
+     * The slots of the text are filled with the provided values, in the same order of the slots, without parsing the text again.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @param values   The values of the slots.
+     * @throws NullPointerException if the text, the receiver or the values is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSource receiver, @NotNull ComponentLike... values) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.render(values), receiver);
+    }
+
+    /**
+     * Sends a compiled text to a {@link CommandSource} or a {@link Player}.
+     * The slots of the text are filled with the provided values as plain text, in the same order of the slots, without parsing the text again.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @param values   The values of the slots.
+     * @throws NullPointerException if the text, the receiver or the values is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSource receiver, @NotNull String... values) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.render(values), receiver);
+    }
+
+    /**
+     * Sends a compiled text to a {@link CommandSource} or a {@link Player}.
+     * The slots of the text are filled with the values mapped to their names, without parsing the text again.
+     *
+     * @param text     The compiled text to send.
+     * @param receiver The receiver of the text.
+     * @param values   The values of the slots by slot name.
+     * @throws NullPointerException if the text, the receiver or the values is null.
+     */
+    public void send(@NotNull CompiledText text, @NotNull CommandSource receiver, @NotNull Map<String, ? extends ComponentLike> values) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        send(text.render(values), receiver);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    SEND TO MULTIPLE RECEIVERS (ARRAY)    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param receivers   The receivers of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource[] receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.length == 0) return;
+
+        audience(receivers).sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     * The text is deserialized once before being sent.
+     *
+     * @param text      The text to send.
+     * @param receivers The receivers of the text.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource[] receivers) {
+        send(text, receivers, null);
+    }
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     *
+     * @param text            The text to send.
+     * @param receivers       The receivers of the text.
+     * @param tagResolver     The {@link TagResolver} for any additional tags to handle.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource[] receivers, TagResolver tagResolver, boolean stripFormatting) {
+        if (stripFormatting) {
+            send(stripFormatting(text, tagResolver), receivers, tagResolver);
+        } else {
+            send(text, receivers, tagResolver);
+        }
+    }
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     *
+     * @param text            The text to send.
+     * @param receivers       The receivers of the text.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public void send(@NotNull String text, @NotNull CommandSource[] receivers, boolean stripFormatting) {
+        send(text, receivers, null, stripFormatting);
+    }
+
+    /**
+     * Sends a component to a group of {@link CommandSource} or {@link Player}.
+     *
+     * @param component The component to send.
+     * @param receivers The receivers of the component.
+     * @throws NullPointerException if the component or the receivers is null.
+     */
+    public void send(@NotNull Component component, @NotNull CommandSource[] receivers) {
+        Preconditions.checkNotNull(component, "Component cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.length == 0) return;
+
+        audience(receivers).sendMessage(component);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    SEND TO MULTIPLE RECEIVERS (COLLECTION)    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param receivers   The receivers of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <R>         The type of the collection of receivers.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public <R extends Collection<? extends CommandSource>> void send(@NotNull String text, @NotNull R receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.isEmpty()) return;
+
+        audience(receivers).sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     * The text is deserialized once before being sent.
+     *
+     * @param text      The text to send.
+     * @param receivers The receivers of the text.
+     * @param <R>       The type of the collection of receivers.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public <R extends Collection<? extends CommandSource>> void send(@NotNull String text, @NotNull R receivers) {
+        send(text, receivers, null);
+    }
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     *
+     * @param text            The text to send.
+     * @param receivers       The receivers of the text.
+     * @param tagResolver     The {@link TagResolver} for any additional tags to handle.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @param <R>             The type of the collection of receivers.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public <R extends Collection<? extends CommandSource>> void send(@NotNull String text, @NotNull R receivers, TagResolver tagResolver, boolean stripFormatting) {
+        if (stripFormatting) {
+            send(stripFormatting(text, tagResolver), receivers, tagResolver);
+        } else {
+            send(text, receivers, tagResolver);
+        }
+    }
+
+    /**
+     * Sends a text to a group of {@link CommandSource} or {@link Player}.
+     *
+     * @param text            The text to send.
+     * @param receivers       The receivers of the text.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @param <R>             The type of the collection of receivers.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public <R extends Collection<? extends CommandSource>> void send(@NotNull String text, @NotNull R receivers, boolean stripFormatting) {
+        send(text, receivers, null, stripFormatting);
+    }
+
+    /**
+     * Sends a component to a group of {@link CommandSource} or {@link Player}.
+     *
+     * @param component The component to send.
+     * @param receivers The receivers of the component.
+     * @param <R>       The type of the collection of receivers.
+     * @throws NullPointerException if the component or the receivers is null.
+     */
+    public <R extends Collection<? extends CommandSource>> void send(@NotNull Component component, @NotNull R receivers) {
+        Preconditions.checkNotNull(component, "Component cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.isEmpty()) return;
+
+        audience(receivers).sendMessage(component);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    SEND MULTIPLE TEXTS (ARRAY)    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Sends a list texts to a {@link CommandSource} or a {@link Player}.
+     * The texts are deserialized before being sent.
+     *
+     * @param texts       The texts to send.
+     * @param receiver    The receiver of the texts.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the texts or the receiver is null.
+     */
+    public void send(@NotNull String[] texts, @NotNull CommandSource receiver, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+        Preconditions.checkNotNull(receiver, "Receiver cannot be null");
+
+        for (String text : texts) {
+            if (text == null) continue;
+            receiver.sendMessage(deserialize(text, tagResolver));
+        }
+    }
+
+    /**
+     * Sends a list texts to a {@link CommandSource} or a {@link Player}.
+     * The texts are deserialized before being sent.
+     *
+     * @param texts    The texts to send.
+     * @param receiver The receiver of the texts.
+     * @throws NullPointerException if the texts or the receiver is null.
+     */
+    public void send(@NotNull String[] texts, @NotNull CommandSource receiver) {
+        send(texts, receiver, null);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    SEND MULTIPLE TEXTS (COLLECTION)    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Sends a list texts to a {@link CommandSource} or a {@link Player}.
+     * The texts are deserialized before being sent.
+     *
+     * @param texts       The texts to send.
+     * @param receiver    The receiver of the texts.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <T>         The type of the collection of texts.
+     * @throws NullPointerException if the texts or the receiver is null.
+     */
+    public <T extends Collection<String>> void send(@NotNull T texts, @NotNull CommandSource receiver, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+        Preconditions.checkNotNull(receiver, "Receiver cannot be null");
+
+        for (String text : texts) {
+            if (text == null) continue;
+            receiver.sendMessage(deserialize(text, tagResolver));
+        }
+    }
+
+    /**
+     * Sends a list texts to a {@link CommandSource} or a {@link Player}.
+     * The texts are deserialized before being sent.
+     *
+     * @param texts    The texts to send.
+     * @param receiver The receiver of the texts.
+     * @param <T>      The type of the collection of texts.
+     * @throws NullPointerException if the texts or the receiver is null.
+     */
+    public <T extends Collection<String>> void send(@NotNull T texts, @NotNull CommandSource receiver) {
+        send(texts, receiver, null);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    BROADCAST    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a text to all {@link Player}s on the proxy.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the text is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+
+        players().sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s on the proxy.
+     * The text is deserialized once before being sent.
+     *
+     * @param text The text to send.
+     * @throws NullPointerException if the text is null.
+     */
+    public void broadcast(@NotNull String text) {
+        broadcast(text, (TagResolver) null);
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s on the proxy.
+     *
+     * @param text            The text to send.
+     * @param tagResolver     The {@link TagResolver} for any additional tags to handle.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver, boolean stripFormatting) {
+        if (stripFormatting) {
+            broadcast(stripFormatting(text, tagResolver), tagResolver);
+        } else {
+            broadcast(text, tagResolver);
+        }
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s on the proxy.
+     *
+     * @param text            The text to send.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text is null.
+     */
+    public void broadcast(@NotNull String text, boolean stripFormatting) {
+        broadcast(text, (TagResolver) null, stripFormatting);
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s on the proxy.
+     * If the sender has at least one of the provided permissions, the text is deserialized before being sent.
+     *
+     * @param text        The text to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param sender      The sender of the text.
+     * @param permissions The permissions to check.
+     * @throws NullPointerException if the text, the sender or the permissions is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver, @NotNull CommandSource sender, @NotNull String... permissions) {
+        broadcast(text, tagResolver, !hasAnyPermission(sender, permissions));
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s on the proxy.
+     * If the sender has at least one of the provided permissions, the text is deserialized before being sent.
+     *
+     * @param text        The text to send.
+     * @param sender      The sender of the text.
+     * @param permissions The permissions to check.
+     * @throws NullPointerException if the text, the sender or the permissions is null.
+     */
+    public void broadcast(@NotNull String text, @NotNull CommandSource sender, @NotNull String... permissions) {
+        broadcast(text, (TagResolver) null, sender, permissions);
+    }
+
+    /**
+     * Broadcasts a component to all {@link Player}s on the proxy.
+     *
+     * @param component The component to send.
+     * @throws NullPointerException if the component is null.
+     */
+    public void broadcast(@NotNull Component component) {
+        Preconditions.checkNotNull(component, "Component cannot be null");
+
+        players().sendMessage(component);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    BROADCAST MULTIPLE TEXTS (ARRAY)    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a list of texts to all {@link Player}s on the proxy.
+     * The texts are deserialized once before being sent.
+     *
+     * @param texts       The texts to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the texts is null.
+     */
+    public void broadcast(@NotNull String[] texts, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+
+        Audience audience = players();
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
+        }
+    }
+
+    /**
+     * Broadcasts a list of texts to all {@link Player}s on the proxy.
+     * The texts are deserialized once before being sent.
+     *
+     * @param texts The texts to send.
+     * @throws NullPointerException if the texts is null.
+     */
+    public void broadcast(@NotNull String[] texts) {
+        broadcast(texts, (TagResolver) null);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    BROADCAST MULTIPLE TEXTS (COLLECTION)    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a list of texts to all {@link Player}s on the proxy.
+     * The texts are deserialized once before being sent.
+     *
+     * @param texts       The texts to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <T>         The type of the collection of texts.
+     * @throws NullPointerException if the texts is null.
+     */
+    public <T extends Collection<String>> void broadcast(@NotNull T texts, TagResolver tagResolver) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+
+        Audience audience = players();
+        for (String text : texts) {
+            if (text == null) continue;
+            audience.sendMessage(deserialize(text, tagResolver));
+        }
+    }
+
+    /**
+     * Broadcasts a list of texts to all {@link Player}s on the proxy.
+     * The texts are deserialized once before being sent.
+     *
+     * @param texts The texts to send.
+     * @param <T>   The type of the collection of texts.
+     * @throws NullPointerException if the texts is null.
+     */
+    public <T extends Collection<String>> void broadcast(@NotNull T texts) {
+        broadcast(texts, (TagResolver) null);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    SERVER BROADCAST    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a text to all {@link Player}s connected to a server.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param server      The server where the text is broadcast.
+     * @throws NullPointerException if the text or the server is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver, @NotNull RegisteredServer server) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(server, "Server cannot be null");
+
+        server.sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s connected to a server.
+     * The text is deserialized once before being sent.
+     *
+     * @param text   The text to send.
+     * @param server The server where the text is broadcast.
+     * @throws NullPointerException if the text or the server is null.
+     */
+    public void broadcast(@NotNull String text, @NotNull RegisteredServer server) {
+        broadcast(text, null, server);
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s connected to a server.
+     *
+     * @param text            The text to send.
+     * @param tagResolver     The {@link TagResolver} for any additional tags to handle.
+     * @param server          The server where the text is broadcast.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the server is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver, @NotNull RegisteredServer server, boolean stripFormatting) {
+        if (stripFormatting) {
+            broadcast(stripFormatting(text, tagResolver), tagResolver, server);
+        } else {
+            broadcast(text, tagResolver, server);
+        }
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s connected to a server.
+     *
+     * @param text            The text to send.
+     * @param server          The server where the text is broadcast.
+     * @param stripFormatting Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the server is null.
+     */
+    public void broadcast(@NotNull String text, @NotNull RegisteredServer server, boolean stripFormatting) {
+        broadcast(text, null, server, stripFormatting);
+    }
+
+    /**
+     * Broadcasts a component to all {@link Player}s connected to a server.
+     *
+     * @param component The component to send.
+     * @param server    The server where the component is broadcast.
+     * @throws NullPointerException if the component or the server is null.
+     */
+    public void broadcast(@NotNull Component component, @NotNull RegisteredServer server) {
+        Preconditions.checkNotNull(component, "Component cannot be null");
+        Preconditions.checkNotNull(server, "Server cannot be null");
+
+        server.sendMessage(component);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    PERMISSION BROADCAST    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have a permission.
+     * The text is deserialized once before being sent.
+     *
+     * @param text             The text to send.
+     * @param tagResolver      The {@link TagResolver} for any additional tags to handle.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @throws NullPointerException if the text or the neededPermission is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver, @NotNull String neededPermission) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(neededPermission, "Needed permission cannot be null");
+
+        permissionAudience(List.of(neededPermission)).sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have a permission.
+     * The text is deserialized once before being sent.
+     *
+     * @param text             The text to send.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @throws NullPointerException if the text or the neededPermission is null.
+     */
+    public void broadcast(@NotNull String text, @NotNull String neededPermission) {
+        broadcast(text, (TagResolver) null, neededPermission);
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have a permission.
+     *
+     * @param text             The text to send.
+     * @param tagResolver      The {@link TagResolver} for any additional tags to handle.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @param stripFormatting  Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the neededPermission is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver, @NotNull String neededPermission, boolean stripFormatting) {
+        if (stripFormatting) {
+            broadcast(stripFormatting(text, tagResolver), tagResolver, neededPermission);
+        } else {
+            broadcast(text, tagResolver, neededPermission);
+        }
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have a permission.
+     *
+     * @param text             The text to send.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @param stripFormatting  Whether to strip formatting from the text before sending it.
+     * @throws NullPointerException if the text or the neededPermission is null.
+     */
+    public void broadcast(@NotNull String text, @NotNull String neededPermission, boolean stripFormatting) {
+        broadcast(text, (TagResolver) null, neededPermission, stripFormatting);
+    }
+
+    /**
+     * Broadcasts a component to all {@link Player}s and to the console if they have a permission.
+     *
+     * @param component        The component to send.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @throws NullPointerException if the component or the neededPermission is null.
+     */
+    public void broadcast(@NotNull Component component, @NotNull String neededPermission) {
+        Preconditions.checkNotNull(component, "Component cannot be null");
+        Preconditions.checkNotNull(neededPermission, "Needed permission cannot be null");
+
+        permissionAudience(List.of(neededPermission)).sendMessage(component);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    PERMISSIONS (ARRAY) BROADCAST    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have at least one of the permissions.
+     * The text is deserialized once before being sent.
+     *
+     * @param text              The text to send.
+     * @param tagResolver       The {@link TagResolver} for any additional tags to handle.
+     * @param neededPermissions The receiver must have at least one of these permissions to receive the broadcast.
+     * @throws NullPointerException if the text or the neededPermissions is null.
+     */
+    public void broadcast(@NotNull String text, TagResolver tagResolver, @NotNull String[] neededPermissions) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(neededPermissions, "Needed permissions cannot be null");
+
+        permissionAudience(Arrays.asList(neededPermissions)).sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have at least one of the permissions.
+     * The text is deserialized once before being sent.
+     *
+     * @param text              The text to send.
+     * @param neededPermissions The receiver must have at least one of these permissions to receive the broadcast.
+     * @throws NullPointerException if the text or the neededPermissions is null.
+     */
+    public void broadcast(@NotNull String text, @NotNull String[] neededPermissions) {
+        broadcast(text, (TagResolver) null, neededPermissions);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    PERMISSIONS (COLLECTION) BROADCAST    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have at least one of the permissions.
+     * The text is deserialized once before being sent.
+     *
+     * @param text              The text to send.
+     * @param tagResolver       The {@link TagResolver} for any additional tags to handle.
+     * @param neededPermissions The receiver must have at least one of these permissions to receive the broadcast.
+     * @param <P>               The type of the collection of permissions.
+     * @throws NullPointerException if the text or the neededPermissions is null.
+     */
+    public <P extends Collection<String>> void broadcast(@NotNull String text, TagResolver tagResolver, @NotNull P neededPermissions) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(neededPermissions, "Needed permissions cannot be null");
+
+        permissionAudience(neededPermissions).sendMessage(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts a text to all {@link Player}s and to the console if they have at least one of the permissions.
+     * The text is deserialized once before being sent.
+     *
+     * @param text              The text to send.
+     * @param neededPermissions The receiver must have at least one of these permissions to receive the broadcast.
+     * @param <P>               The type of the collection of permissions.
+     * @throws NullPointerException if the text or the neededPermissions is null.
+     */
+    public <P extends Collection<String>> void broadcast(@NotNull String text, @NotNull P neededPermissions) {
+        broadcast(text, (TagResolver) null, neededPermissions);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    ACTION BAR    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Sends an action bar text to a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param text        The text to send.
+     * @param receiver    The receiver of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void sendActionBar(@NotNull String text, @NotNull Player receiver, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receiver, "Receiver cannot be null");
+
+        receiver.sendActionBar(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Sends an action bar text to a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param text     The text to send.
+     * @param receiver The receiver of the text.
+     * @throws NullPointerException if the text or the receiver is null.
+     */
+    public void sendActionBar(@NotNull String text, @NotNull Player receiver) {
+        sendActionBar(text, receiver, null);
+    }
+
+    /**
+     * Sends an action bar text to a group of {@link Player}s.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param receivers   The receivers of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public void sendActionBar(@NotNull String text, @NotNull Player[] receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.length == 0) return;
+
+        audience(receivers).sendActionBar(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Sends an action bar text to a group of {@link Player}s.
+     * The text is deserialized once before being sent.
+     *
+     * @param text      The text to send.
+     * @param receivers The receivers of the text.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public void sendActionBar(@NotNull String text, @NotNull Player[] receivers) {
+        sendActionBar(text, receivers, null);
+    }
+
+    /**
+     * Sends an action bar text to a group of {@link Player}s.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param receivers   The receivers of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <R>         The type of the collection of receivers.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public <R extends Collection<? extends Player>> void sendActionBar(@NotNull String text, @NotNull R receivers, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.isEmpty()) return;
+
+        audience(receivers).sendActionBar(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Sends an action bar text to a group of {@link Player}s.
+     * The text is deserialized once before being sent.
+     *
+     * @param text      The text to send.
+     * @param receivers The receivers of the text.
+     * @param <R>       The type of the collection of receivers.
+     * @throws NullPointerException if the text or the receivers is null.
+     */
+    public <R extends Collection<? extends Player>> void sendActionBar(@NotNull String text, @NotNull R receivers) {
+        sendActionBar(text, receivers, null);
+    }
+
+    /**
+     * Broadcasts an action bar text to all {@link Player}s on the proxy.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException if the text is null.
+     */
+    public void broadcastActionBar(@NotNull String text, TagResolver tagResolver) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+
+        players().sendActionBar(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts an action bar text to all {@link Player}s on the proxy.
+     * The text is deserialized once before being sent.
+     *
+     * @param text The text to send.
+     * @throws NullPointerException if the text is null.
+     */
+    public void broadcastActionBar(@NotNull String text) {
+        broadcastActionBar(text, (TagResolver) null);
+    }
+
+    /**
+     * Broadcasts an action bar text to all {@link Player}s connected to a server.
+     * The text is deserialized once before being sent.
+     *
+     * @param text        The text to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param server      The server where the text is broadcast.
+     * @throws NullPointerException if the text or the server is null.
+     */
+    public void broadcastActionBar(@NotNull String text, TagResolver tagResolver, @NotNull RegisteredServer server) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(server, "Server cannot be null");
+
+        server.sendActionBar(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts an action bar text to all {@link Player}s connected to a server.
+     * The text is deserialized once before being sent.
+     *
+     * @param text   The text to send.
+     * @param server The server where the text is broadcast.
+     * @throws NullPointerException if the text or the server is null.
+     */
+    public void broadcastActionBar(@NotNull String text, @NotNull RegisteredServer server) {
+        broadcastActionBar(text, null, server);
+    }
+
+    /**
+     * Broadcasts an action bar text to all {@link Player}s with a permission.
+     * The text is deserialized once before being sent.
+     *
+     * @param text             The text to send.
+     * @param tagResolver      The {@link TagResolver} for any additional tags to handle.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @throws NullPointerException if the text or the neededPermission is null.
+     */
+    public void broadcastActionBar(@NotNull String text, TagResolver tagResolver, @NotNull String neededPermission) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(neededPermission, "Needed permission cannot be null");
+
+        permissionAudience(List.of(neededPermission)).sendActionBar(deserialize(text, tagResolver));
+    }
+
+    /**
+     * Broadcasts an action bar text to all {@link Player}s with a permission.
+     * The text is deserialized once before being sent.
+     *
+     * @param text             The text to send.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @throws NullPointerException if the text or the neededPermission is null.
+     */
+    public void broadcastActionBar(@NotNull String text, @NotNull String neededPermission) {
+        broadcastActionBar(text, (TagResolver) null, neededPermission);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    TITLE    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Sends a title to a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param title       The title to send.
+     * @param subtitle    The subtitle to send.
+     * @param fadeIn      The time in milliseconds for the title to fade in. (default: 1000)
+     * @param stay        The time in milliseconds for the title to stay on screen. (default: 3000)
+     * @param fadeOut     The time in milliseconds for the title to fade out. (default: 1000)
+     * @param receiver    The receiver of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException     if the receiver is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void sendTitle(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, @NotNull Player receiver, TagResolver tagResolver) {
+        Preconditions.checkArgument(title != null || subtitle != null, "Both title and subtitle cannot be null simultaneously");
+        Preconditions.checkNotNull(receiver, "Receiver cannot be null");
+
+        sendTitle(receiver, deserialize(title, tagResolver), deserialize(subtitle, tagResolver), times(fadeIn, stay, fadeOut));
+    }
+
+    /**
+     * Sends a title to a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param title    The title to send.
+     * @param subtitle The subtitle to send.
+     * @param fadeIn   The time in milliseconds for the title to fade in. (default: 1000)
+     * @param stay     The time in milliseconds for the title to stay on screen. (default: 3000)
+     * @param fadeOut  The time in milliseconds for the title to fade out. (default: 1000)
+     * @param receiver The receiver of the text.
+     * @throws NullPointerException     if the receiver is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void sendTitle(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, @NotNull Player receiver) {
+        sendTitle(title, subtitle, fadeIn, stay, fadeOut, receiver, null);
+    }
+
+    /**
+     * Sends a title to a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param title       The title to send.
+     * @param subtitle    The subtitle to send.
+     * @param receiver    The receiver of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws NullPointerException     if the receiver is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void sendTitle(String title, String subtitle, @NotNull Player receiver, TagResolver tagResolver) {
+        sendTitle(title, subtitle, null, null, null, receiver, tagResolver);
+    }
+
+    /**
+     * Sends a title to a {@link Player}.
+     * The text is deserialized before being sent.
+     *
+     * @param title    The title to send.
+     * @param subtitle The subtitle to send.
+     * @param receiver The receiver of the text.
+     * @throws NullPointerException     if the receiver is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void sendTitle(String title, String subtitle, @NotNull Player receiver) {
+        sendTitle(title, subtitle, null, null, null, receiver, null);
+    }
+
+    /**
+     * Sends a title to a group of {@link Player}s.
+     * The text is deserialized once before being sent.
+     *
+     * @param title       The title to send.
+     * @param subtitle    The subtitle to send.
+     * @param fadeIn      The time in milliseconds for the title to fade in. (default: 1000)
+     * @param stay        The time in milliseconds for the title to stay on screen. (default: 3000)
+     * @param fadeOut     The time in milliseconds for the title to fade out. (default: 1000)
+     * @param receivers   The receivers of the text.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param <R>         The type of the collection of receivers.
+     * @throws NullPointerException     if the receivers is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public <R extends Collection<? extends Player>> void sendTitle(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, @NotNull R receivers, TagResolver tagResolver) {
+        Preconditions.checkArgument(title != null || subtitle != null, "Both title and subtitle cannot be null simultaneously");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        if (receivers.isEmpty()) return;
+
+        sendTitle(audience(receivers), deserialize(title, tagResolver), deserialize(subtitle, tagResolver), times(fadeIn, stay, fadeOut));
+    }
+
+    /**
+     * Sends a title to a group of {@link Player}s.
+     * The text is deserialized once before being sent.
+     *
+     * @param title     The title to send.
+     * @param subtitle  The subtitle to send.
+     * @param receivers The receivers of the text.
+     * @param <R>       The type of the collection of receivers.
+     * @throws NullPointerException     if the receivers is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public <R extends Collection<? extends Player>> void sendTitle(String title, String subtitle, @NotNull R receivers) {
+        sendTitle(title, subtitle, null, null, null, receivers, null);
+    }
+
+    /**
+     * Broadcasts a title to all {@link Player}s on the proxy.
+     * The text is deserialized once before being sent.
+     *
+     * @param title       The title to send.
+     * @param subtitle    The subtitle to send.
+     * @param fadeIn      The time in milliseconds for the title to fade in. (default: 1000)
+     * @param stay        The time in milliseconds for the title to stay on screen. (default: 3000)
+     * @param fadeOut     The time in milliseconds for the title to fade out. (default: 1000)
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void broadcastTitle(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, TagResolver tagResolver) {
+        Preconditions.checkArgument(title != null || subtitle != null, "Both title and subtitle cannot be null simultaneously");
+
+        sendTitle(players(), deserialize(title, tagResolver), deserialize(subtitle, tagResolver), times(fadeIn, stay, fadeOut));
+    }
+
+    /**
+     * Broadcasts a title to all {@link Player}s on the proxy.
+     * The text is deserialized once before being sent.
+     *
+     * @param title       The title to send.
+     * @param subtitle    The subtitle to send.
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void broadcastTitle(String title, String subtitle, TagResolver tagResolver) {
+        broadcastTitle(title, subtitle, null, null, null, tagResolver);
+    }
+
+    /**
+     * Broadcasts a title to all {@link Player}s on the proxy.
+     * The text is deserialized once before being sent.
+     *
+     * @param title    The title to send.
+     * @param subtitle The subtitle to send.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void broadcastTitle(String title, String subtitle) {
+        broadcastTitle(title, subtitle, null, null, null, (TagResolver) null);
+    }
+
+    /**
+     * Broadcasts a title to all {@link Player}s connected to a server.
+     * The text is deserialized once before being sent.
+     *
+     * @param title       The title to send.
+     * @param subtitle    The subtitle to send.
+     * @param fadeIn      The time in milliseconds for the title to fade in. (default: 1000)
+     * @param stay        The time in milliseconds for the title to stay on screen. (default: 3000)
+     * @param fadeOut     The time in milliseconds for the title to fade out. (default: 1000)
+     * @param tagResolver The {@link TagResolver} for any additional tags to handle.
+     * @param server      The server where the title is broadcast.
+     * @throws NullPointerException     if the server is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void broadcastTitle(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, TagResolver tagResolver, @NotNull RegisteredServer server) {
+        Preconditions.checkArgument(title != null || subtitle != null, "Both title and subtitle cannot be null simultaneously");
+        Preconditions.checkNotNull(server, "Server cannot be null");
+
+        sendTitle(server, deserialize(title, tagResolver), deserialize(subtitle, tagResolver), times(fadeIn, stay, fadeOut));
+    }
+
+    /**
+     * Broadcasts a title to all {@link Player}s connected to a server.
+     * The text is deserialized once before being sent.
+     *
+     * @param title    The title to send.
+     * @param subtitle The subtitle to send.
+     * @param server   The server where the title is broadcast.
+     * @throws NullPointerException     if the server is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void broadcastTitle(String title, String subtitle, @NotNull RegisteredServer server) {
+        broadcastTitle(title, subtitle, null, null, null, null, server);
+    }
+
+    /**
+     * Broadcasts a title to all {@link Player}s with a permission.
+     * The text is deserialized once before being sent.
+     *
+     * @param title            The title to send.
+     * @param subtitle         The subtitle to send.
+     * @param fadeIn           The time in milliseconds for the title to fade in. (default: 1000)
+     * @param stay             The time in milliseconds for the title to stay on screen. (default: 3000)
+     * @param fadeOut          The time in milliseconds for the title to fade out. (default: 1000)
+     * @param tagResolver      The {@link TagResolver} for any additional tags to handle.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @throws NullPointerException     if the neededPermission is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void broadcastTitle(String title, String subtitle, Long fadeIn, Long stay, Long fadeOut, TagResolver tagResolver, @NotNull String neededPermission) {
+        Preconditions.checkArgument(title != null || subtitle != null, "Both title and subtitle cannot be null simultaneously");
+        Preconditions.checkNotNull(neededPermission, "Needed permission cannot be null");
+
+        sendTitle(permissionAudience(List.of(neededPermission)), deserialize(title, tagResolver), deserialize(subtitle, tagResolver), times(fadeIn, stay, fadeOut));
+    }
+
+    /**
+     * Broadcasts a title to all {@link Player}s with a permission.
+     * The text is deserialized once before being sent.
+     *
+     * @param title            The title to send.
+     * @param subtitle         The subtitle to send.
+     * @param neededPermission The permission needed to receive the broadcast.
+     * @throws NullPointerException     if the neededPermission is null.
+     * @throws IllegalArgumentException if both title and subtitle are null.
+     */
+    public void broadcastTitle(String title, String subtitle, @NotNull String neededPermission) {
+        broadcastTitle(title, subtitle, null, null, null, null, neededPermission);
+    }
+
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+    /*    PERSONALIZED BROADCAST    */
+    /* -------------------------------------------------------------------------------------------------------------------------------------------- */
+
+    /**
+     * Broadcasts a text personalized for every {@link Player}.
+     * The texts are deserialized and sent in parallel on the common fork-join pool, with the {@link TagResolver} provided
+     * for each player. The resolvers are created off the calling thread, so they must only read thread safe data.
+     *
+     * @param text      The text to send.
+     * @param resolvers The function that provides the {@link TagResolver} of each player.
+     * @return A future completed once the texts have been sent.
+     * @throws NullPointerException if the text or the resolvers is null.
+     */
+    public CompletableFuture<Void> broadcastPersonalized(@NotNull String text, @NotNull Function<Player, TagResolver> resolvers) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+
+        return personalize(new ArrayList<>(proxy.getAllPlayers()), player -> deserialize(text, resolvers.apply(player)), Audience::sendMessage);
+    }
+
+    /**
+     * Sends a text personalized for every receiver.
+     * The texts are deserialized and sent in parallel on the common fork-join pool, with the {@link TagResolver} provided
+     * for each player. The resolvers are created off the calling thread, so they must only read thread safe data.
+     *
+     * @param text      The text to send.
+     * @param receivers The receivers of the text.
+     * @param resolvers The function that provides the {@link TagResolver} of each player.
+     * @param <R>       The type of the collection of receivers.
+     * @return A future completed once the texts have been sent.
+     * @throws NullPointerException if the text, the receivers or the resolvers is null.
+     */
+    public <R extends Collection<? extends Player>> CompletableFuture<Void> sendPersonalized(@NotNull String text, @NotNull R receivers, @NotNull Function<Player, TagResolver> resolvers) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(receivers, "Receivers cannot be null");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+
+        return personalize(new ArrayList<>(receivers), player -> deserialize(text, resolvers.apply(player)), Audience::sendMessage);
+    }
+
+    /**
+     * Broadcasts an action bar text personalized for every {@link Player}.
+     * The texts are deserialized and sent in parallel on the common fork-join pool, with the {@link TagResolver} provided
+     * for each player. The resolvers are created off the calling thread, so they must only read thread safe data.
+     *
+     * @param text      The text to send.
+     * @param resolvers The function that provides the {@link TagResolver} of each player.
+     * @return A future completed once the texts have been sent.
+     * @throws NullPointerException if the text or the resolvers is null.
+     */
+    public CompletableFuture<Void> broadcastActionBarPersonalized(@NotNull String text, @NotNull Function<Player, TagResolver> resolvers) {
+        Preconditions.checkNotNull(text, "Text cannot be null");
+        Preconditions.checkNotNull(resolvers, "Resolvers cannot be null");
+
+        return personalize(new ArrayList<>(proxy.getAllPlayers()), player -> deserialize(text, resolvers.apply(player)), Audience::sendActionBar);
+    }
+
+    private CompletableFuture<Void> personalize(List<Player> players, Function<Player, Component> renderer, BiConsumer<Audience, Component> sender) {
+        if (players.isEmpty()) return CompletableFuture.completedFuture(null);
+
+        return CompletableFuture.runAsync(() -> players.parallelStream().forEach(player -> {
+            if (player.isActive()) sender.accept(player, renderer.apply(player));
+        }), ForkJoinPool.commonPool());
+    }
+
+    private Audience players() {
+        return Audience.audience(proxy.getAllPlayers());
+    }
+
+    private Audience permissionAudience(Collection<String> permissions) {
+        List<Audience> list = new ArrayList<>();
+
+        if (hasAnyPermission(proxy.getConsoleCommandSource(), permissions)) list.add(proxy.getConsoleCommandSource());
+
+        for (Player player : proxy.getAllPlayers()) {
+            if (hasAnyPermission(player, permissions)) list.add(player);
+        }
+
+        return Audience.audience(list);
+    }
+
+    private static boolean hasAnyPermission(PermissionSubject subject, Collection<String> permissions) {
+        for (String permission : permissions) {
+            if (permission == null) continue;
+            if (subject.hasPermission(permission)) return true;
+        }
+
+        return false;
+    }
+
+    private static boolean hasAnyPermission(CommandSource sender, String[] permissions) {
+        Preconditions.checkNotNull(sender, "Sender cannot be null");
+        Preconditions.checkNotNull(permissions, "Permissions cannot be null");
+
+        return hasAnyPermission(sender, Arrays.asList(permissions));
+    }
+
+    private static Audience audience(Audience[] receivers) {
+        if (receivers.length == 1) return receivers[0] == null ? Audience.empty() : receivers[0];
+
+        List<Audience> list = new ArrayList<>(receivers.length);
+        for (Audience receiver : receivers) {
+            if (receiver != null) list.add(receiver);
+        }
+
+        return Audience.audience(list);
+    }
+
+    private static Audience audience(Collection<? extends Audience> receivers) {
+        if (receivers.size() == 1) {
+            Audience receiver = receivers.iterator().next();
+            return receiver == null ? Audience.empty() : receiver;
+        }
+
+        List<Audience> list = new ArrayList<>(receivers.size());
+        for (Audience receiver : receivers) {
+            if (receiver != null) list.add(receiver);
+        }
+
+        return Audience.audience(list);
+    }
+
+    private static Title.Times times(Long fadeIn, Long stay, Long fadeOut) {
+        return Title.Times.times(
+                Duration.of(fadeIn != null ? fadeIn : 1000, ChronoUnit.MILLIS),
+                Duration.of(stay != null ? stay : 3000, ChronoUnit.MILLIS),
+                Duration.of(fadeOut != null ? fadeOut : 1000, ChronoUnit.MILLIS)
+        );
+    }
+
+    private static void sendTitle(Audience audience, Component title, Component subtitle, Title.Times times) {
+        if (title != null) audience.sendTitlePart(TitlePart.TITLE, title);
+        if (subtitle != null) audience.sendTitlePart(TitlePart.SUBTITLE, subtitle);
+        audience.sendTitlePart(TitlePart.TIMES, times);
+    }
+
+    private static <C extends Collection<String>> C convert(C collection, UnaryOperator<String> converter) {
+        if (collection == null) return null;
+
+        if (collection instanceof List) {
+            ListIterator<String> iterator = ((List<String>) collection).listIterator();
+            while (iterator.hasNext()) {
+                String text = iterator.next();
+                String converted = converter.apply(text);
+                if (!Objects.equals(converted, text)) iterator.set(converted);
+            }
+
+            return collection;
+        }
+
+        List<String> texts = null;
+        int index = 0;
+
+        for (String text : collection) {
+            String converted = converter.apply(text);
+
+            if (texts == null && !Objects.equals(converted, text)) {
+                texts = new ArrayList<>(collection.size());
+                Iterator<String> iterator = collection.iterator();
+                for (int i = 0; i < index; i++) texts.add(iterator.next());
+            }
+
+            if (texts != null) texts.add(converted);
+            index++;
+        }
+
+        if (texts != null) {
+            collection.clear();
+            collection.addAll(texts);
+        }
+
+        return collection;
+    }
+
+    private static String[] convert(String[] texts, String[] output, UnaryOperator<String> converter) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+        Preconditions.checkNotNull(output, "Output cannot be null");
+        Preconditions.checkArgument(output.length >= texts.length, "Output cannot be shorter than the texts");
+
+        for (int i = 0; i < texts.length; i++) {
+            output[i] = converter.apply(texts[i]);
+        }
+
+        return output;
+    }
+
+    private static void convert(Iterable<String> texts, Consumer<? super String> output, UnaryOperator<String> converter) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+        Preconditions.checkNotNull(output, "Output cannot be null");
+
+        for (String text : texts) {
+            output.accept(converter.apply(text));
+        }
+    }
+
+    private static List<String> convertParallel(List<String> texts, UnaryOperator<String> converter) {
+        Preconditions.checkNotNull(texts, "Texts cannot be null");
+
+        String[] converted = texts.toArray(new String[0]);
+        if (converted.length < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < converted.length; i++) converted[i] = converter.apply(converted[i]);
+        } else {
+            Arrays.parallelSetAll(converted, i -> converter.apply(converted[i]));
+        }
+
+        return new ArrayList<>(Arrays.asList(converted));
+    }
+}
@@ -0,0 +1,218 @@
+package it.multicoredev.mbcore.velocity.pmc;
+
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.player.ServerPostConnectEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ServerConnection;
+import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
+import com.velocitypowered.api.proxy.messages.LegacyChannelIdentifier;
+import com.velocitypowered.api.proxy.messages.MinecraftChannelIdentifier;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import it.multicoredev.mbcore.common.pmc.MessageChunker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class MessageRouter {
+    private static final Map<String, ChannelIdentifier> identifiers = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Packet>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Router of the custom messages sent from the proxy to the backend servers.
+     * Messages are encoded once and sent through the connection of a player of every server. Servers without players
+     * can queue the messages until a player joins them.
+     * The router must be registered as a listener to send the queued messages.
+     */
+    public MessageRouter() {
+    }
+
+    /**
+     * Get the identifier of a channel. Identifiers are created once and then reused.
+     *
+     * @param channel The name of the channel, namespaced (Eg. mbcore:default) or legacy.
+     * @return The {@link ChannelIdentifier} of the channel.
+     */
+    public static ChannelIdentifier identifier(@NotNull String channel) {
+        Objects.requireNonNull(channel);
+
+        return identifiers.computeIfAbsent(channel.toLowerCase(), c -> c.indexOf(':') != -1 ? MinecraftChannelIdentifier.from(c) : new LegacyChannelIdentifier(c));
+    }
+
+    /**
+     * Encode a custom message, splitting it in fragments if it's bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE}.
+     *
+     * @param message The {@link CustomMessage} to encode.
+     * @return The {@link Packet} ready to be routed to any number of servers.
+     */
+    public static Packet encode(@NotNull CustomMessage message) {
+        Objects.requireNonNull(message);
+
+        byte[] data = message.toByteArray();
+        if (!MessageChunker.needsChunking(data.length)) return new Packet(identifier(message.getChannel()), List.of(data));
+
+        return new Packet(identifier(MessageChunker.CHANNEL), MessageChunker.split(message.getChannel(), data));
+    }
+
+    /**
+     * Route a packet to a server.
+     *
+     * @param server The {@link RegisteredServer} target of the packet.
+     * @param packet The {@link Packet} to route.
+     * @param queue  If the packet should be queued until a player joins when the server is empty.
+     * @return true if the packet has been sent or queued, false if the server is empty and the packet has been dropped.
+     */
+    public boolean route(@NotNull RegisteredServer server, @NotNull Packet packet, boolean queue) {
+        Objects.requireNonNull(server);
+        Objects.requireNonNull(packet);
+
+        ServerConnection carrier = getCarrier(server);
+        if (carrier != null) {
+            send(carrier, packet);
+            return true;
+        }
+
+        if (!queue) return false;
+
+        pending.computeIfAbsent(server.getServerInfo().getName(), k -> new ConcurrentLinkedQueue<>()).add(packet);
+        return true;
+    }
+
+    /**
+     * Route a packet to many servers.
+     *
+     * @param servers The {@link RegisteredServer}s target of the packet.
+     * @param packet  The {@link Packet} to route.
+     * @param queue   If the packet should be queued until a player joins when a server is empty.
+     * @return The number of servers the packet has been sent to or queued for.
+     */
+    public int route(@NotNull Collection<RegisteredServer> servers, @NotNull Packet packet, boolean queue) {
+        Objects.requireNonNull(servers);
+
+        int routed = 0;
+        for (RegisteredServer server : servers) {
+            if (route(server, packet, queue)) routed++;
+        }
+
+        return routed;
+    }
+
+    /**
+     * Route a custom message to many servers. The message is encoded only once.
+     *
+     * @param servers The {@link RegisteredServer}s target of the message.
+     * @param message The {@link CustomMessage} to route.
+     * @param queue   If the message should be queued until a player joins when a server is empty.
+     * @return The number of servers the message has been sent to or queued for.
+     */
+    public int route(@NotNull Collection<RegisteredServer> servers, @NotNull CustomMessage message, boolean queue) {
+        return route(servers, encode(message), queue);
+    }
+
+    /**
+     * Get the number of packets queued for a server.
+     *
+     * @param server The name of the server.
+     * @return The number of packets waiting for a player to join the server.
+     */
+    public int getQueued(@NotNull String server) {
+        Queue<Packet> queue = pending.get(server);
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * Drop all the queued packets.
+     */
+    public void clear() {
+        pending.clear();
+    }
+
+    static void send(ServerConnection connection, Packet packet) {
+        for (byte[] data : packet.data) connection.sendPluginMessage(packet.channel, data);
+    }
+
+    @Nullable
+    private ServerConnection getCarrier(RegisteredServer server) {
+        for (Player player : server.getPlayersConnected()) {
+            Optional<ServerConnection> connection = player.getCurrentServer();
+            if (connection.isPresent() && connection.get().getServerInfo().equals(server.getServerInfo())) return connection.get();
+        }
+
+        return null;
+    }
+
+    @Subscribe(order = PostOrder.LAST)
+    public void onServerPostConnect(ServerPostConnectEvent event) {
+        Optional<ServerConnection> connection = event.getPlayer().getCurrentServer();
+        if (connection.isEmpty()) return;
+
+        Queue<Packet> queue = pending.get(connection.get().getServerInfo().getName());
+        if (queue == null) return;
+
+        Packet packet;
+        while ((packet = queue.poll()) != null) send(connection.get(), packet);
+    }
+
+    /**
+     * A custom message encoded and ready to be sent, already split in fragments if needed.
+     */
+    public static final class Packet {
+        private final ChannelIdentifier channel;
+        private final List<byte[]> data;
+
+        private Packet(ChannelIdentifier channel, List<byte[]> data) {
+            this.channel = channel;
+            this.data = data;
+        }
+
+        public ChannelIdentifier getChannel() {
+            return channel;
+        }
+
+        public int getFragments() {
+            return data.size();
+        }
+
+        List<byte[]> getData() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package it.multicoredev.mbcore.velocity.pmc;
+
+import com.google.common.io.ByteArrayDataInput;
+import com.google.common.io.ByteStreams;
+import com.velocitypowered.api.event.PostOrder;
+import com.velocitypowered.api.event.Subscribe;
+import com.velocitypowered.api.event.connection.PluginMessageEvent;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.ServerConnection;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import it.multicoredev.mbcore.common.pmc.ChunkAssembler;
+import it.multicoredev.mbcore.common.pmc.MessageChunker;
+import it.multicoredev.mbcore.common.pmc.MessageCodec;
+import it.multicoredev.mbcore.common.pmc.MessageReader;
+import it.multicoredev.mbcore.velocity.pmc.events.ConsoleCommandEvent;
+import it.multicoredev.mbcore.velocity.pmc.events.PlayerCommandEvent;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class PluginMessageChannel {
+    private static final Logger logger = LoggerFactory.getLogger("MBCore");
+    private final ProxyServer proxy;
+    private final Object plugin;
+    private final ChunkAssembler assembler;
+    private final MessageRouter router = new MessageRouter();
+    private final Map<String, Map<String, BiConsumer<ServerConnection, MessageReader>>> codecs = new ConcurrentHashMap<>();
+    private final List<String> channels = new CopyOnWriteArrayList<>();
+    private boolean defListener = false;
+
+    /**
+     * Implementation of the Custom Plugin Message API for Velocity. An easy to use API to send and receive default and custom plugin
+     * messages.
+     * Messages are sent through Velocity's {@link com.velocitypowered.api.proxy.messages.ChannelMessageSink}s and only the messages
+     * coming from the backend servers are handled: messages sent by the players on the registered channels are dropped.
+     *
+     * @param proxy     The {@link ProxyServer} instance.
+     * @param plugin    The instance of the plugin that is registering this MessageChannel.
+     * @param assembler The {@link ChunkAssembler} used to reassemble messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE}.
+     */
+    public PluginMessageChannel(@NotNull ProxyServer proxy, @NotNull Object plugin, @NotNull ChunkAssembler assembler) {
+        this.proxy = Objects.requireNonNull(proxy);
+        this.plugin = Objects.requireNonNull(plugin);
+        this.assembler = Objects.requireNonNull(assembler);
+        proxy.getEventManager().register(plugin, this);
+        proxy.getEventManager().register(plugin, router);
+
+        registerChannel(MessageChunker.CHANNEL);
+    }
+
+    /**
+     * Implementation of the Custom Plugin Message API for Velocity. An easy to use API to send and receive default and custom plugin
+     * messages.
+     *
+     * @param proxy  The {@link ProxyServer} instance.
+     * @param plugin The instance of the plugin that is registering this MessageChannel.
+     */
+    public PluginMessageChannel(@NotNull ProxyServer proxy, @NotNull Object plugin) {
+        this(proxy, plugin, new ChunkAssembler());
+    }
+
+    /**
+     * Get the router used to send custom messages to the servers.
+     *
+     * @return The {@link MessageRouter} of this MessageChannel.
+     */
+    public MessageRouter getRouter() {
+        return router;
+    }
+
+    /**
+     * Register a channel.
+     *
+     * @param channel The name of the channel to register.
+     * @return true if channel has been registered, false if the channel is already registered.
+     */
+    public boolean registerChannel(String channel) {
+        if (channels.contains(channel.toLowerCase())) return false;
+        channels.add(channel.toLowerCase());
+
+        proxy.getChannelRegistrar().register(MessageRouter.identifier(channel));
+        return true;
+    }
+
+    /**
+     * Unregister a channel.
+     *
+     * @param channel The name of the channel to unregister.
+     */
+    public void unregisterChannel(String channel) {
+        channels.remove(channel.toLowerCase());
+
+        proxy.getChannelRegistrar().unregister(MessageRouter.identifier(channel));
+    }
+
+    /**
+     * Register the default channel.
+     */
+    public void registerDefault() {
+        registerChannel("mbcore:default");
+    }
+
+    /**
+     * Unregister the default channel.
+     */
+    public void unregisterDefault() {
+        unregisterChannel("mbcore:default");
+    }
+
+    /**
+     * Unregister all channels.
+     * Keep in mind that this will unregister also mbcore:chunk and mbcore:default channels.
+     */
+    public void unregisterAllChannels() {
+        for (String channel : channels) {
+            unregisterChannel(channel);
+        }
+    }
+
+    /**
+     * Unregister all channels and the listeners of this MessageChannel.
+     * The MessageChannel cannot be used anymore after this method is called.
+     */
+    public void destroy() {
+        unregisterAllChannels();
+        proxy.getEventManager().unregisterListener(plugin, this);
+        proxy.getEventManager().unregisterListener(plugin, router);
+        router.clear();
+        assembler.clear();
+    }
+
+    /**
+     * Enable the default channel listener.
+     */
+    public void enableDefaultListener() {
+        defListener = true;
+    }
+
+    /**
+     * Disable the default channel listener.
+     */
+    public void disableDefaultListener() {
+        defListener = false;
+    }
+
+    /**
+     * Register a handler for the messages of a schema. Messages are dispatched on the subchannel named after the schema,
+     * their schema version is checked and then they are decoded with the codec and passed to the handler.
+     * Messages with a different schema version are dropped and logged.
+     * The channel must be registered with {@link #registerChannel(String)} to receive messages.
+     *
+     * @param channel The name of the channel.
+     * @param codec   The {@link MessageCodec} of the schema.
+     * @param handler The handler that receives the server connection that delivered the message and the decoded message.
+     * @param <T>     The type of the decoded message.
+     */
+    public <T> void registerCodec(@NotNull String channel, @NotNull MessageCodec<T> codec, @NotNull BiConsumer<ServerConnection, T> handler) {
+        Objects.requireNonNull(channel);
+        Objects.requireNonNull(codec);
+        Objects.requireNonNull(handler);
+
+        codecs.computeIfAbsent(channel.toLowerCase(), k -> new ConcurrentHashMap<>()).put(codec.getName(), (sender, in) -> {
+            int version = in.readUnsignedShort();
+            if (version != codec.getVersion()) {
+                logger.warn(String.format("Dropped %s message on channel %s: schema version %d, expected %d", codec.getName(), channel, version, codec.getVersion()));
+                return;
+            }
+
+            handler.accept(sender, codec.decode(in));
+        });
+    }
+
+    /**
+     * Unregister the handler of a schema.
+     *
+     * @param channel The name of the channel.
+     * @param codec   The {@link MessageCodec} of the schema.
+     */
+    public void unregisterCodec(@NotNull String channel, @NotNull MessageCodec<?> codec) {
+        Map<String, BiConsumer<ServerConnection, MessageReader>> subchannels = codecs.get(channel.toLowerCase());
+        if (subchannels != null) subchannels.remove(codec.getName());
+    }
+
+    /**
+     * Listener for chunked Plugin Messages.
+     * Messages sent by the players on the registered channels are dropped here.
+     * Fragments are consumed here, once a message is complete it is fired again as a {@link PluginMessageEvent}
+     * on its original channel.
+     *
+     * @param event The {@link PluginMessageEvent}.
+     */
+    @Subscribe(order = PostOrder.FIRST)
+    public void onChunkReceived(PluginMessageEvent event) {
+        String channel = event.getIdentifier().getId();
+        if (!channels.contains(channel)) return;
+
+        if (!(event.getSource() instanceof ServerConnection)) {
+            event.setResult(PluginMessageEvent.ForwardResult.handled());
+            return;
+        }
+
+        if (!channel.equals(MessageChunker.CHANNEL)) return;
+        event.setResult(PluginMessageEvent.ForwardResult.handled());
+
+        ChunkAssembler.Payload payload = assembler.accept(event.getData());
+        if (payload == null) return;
+
+        proxy.getEventManager().fireAndForget(new PluginMessageEvent(event.getSource(), event.getTarget(), MessageRouter.identifier(payload.getTarget()), payload.getData()));
+    }
+
+    /**
+     * Listener for Plugin Messages encoded with a {@link MessageCodec}.
+     *
+     * @param event The {@link PluginMessageEvent}.
+     */
+    @Subscribe(order = PostOrder.LATE)
+    public void onCodecMessageReceived(PluginMessageEvent event) {
+        if (!event.getResult().isAllowed() || !(event.getSource() instanceof ServerConnection)) return;
+
+        Map<String, BiConsumer<ServerConnection, MessageReader>> subchannels = codecs.get(event.getIdentifier().getId().toLowerCase());
+        if (subchannels == null) return;
+
+        try {
+            MessageReader in = new MessageReader(event.getData());
+            BiConsumer<ServerConnection, MessageReader> handler = subchannels.get(in.readUTF());
+            if (handler == null) return;
+
+            event.setResult(PluginMessageEvent.ForwardResult.handled());
+            handler.accept((ServerConnection) event.getSource(), in);
+        } catch (IllegalStateException e) {
+            logger.warn(String.format("Malformed plugin message received on channel %s", event.getIdentifier().getId()));
+        }
+    }
+
+    /**
+     * Default listener for Plugin Messages.
+     *
+     * @param event The {@link PluginMessageEvent}.
+     */
+    @Subscribe(order = PostOrder.LAST)
+    public void onPluginMessageReceived(PluginMessageEvent event) {
+        if (!event.getIdentifier().getId().equals("mbcore:default") || !defListener) return;
+        if (!event.getResult().isAllowed() || !(event.getSource() instanceof ServerConnection)) return;
+        event.setResult(PluginMessageEvent.ForwardResult.handled());
+
+        ByteArrayDataInput in = ByteStreams.newDataInput(event.getData());
+
+        try {
+            String subchannel = in.readUTF();
+
+            switch (subchannel) {
+                case "ConsoleCommand": {
+                    proxy.getEventManager().fire(new ConsoleCommandEvent(in.readUTF(), in.readUTF())).thenAccept(e -> {
+                        if (!e.getResult().isAllowed()) return;
+
+                        if (e.getServer().equals("VELOCITY") || e.getServer().equals("BUNGEECORD")) {
+                            proxy.getCommandManager().executeAsync(proxy.getConsoleCommandSource(), e.getCommand());
+                        } else {
+                            consoleCommand(e.getServer(), e.getCommand());
+                        }
+                    });
+                    break;
+                }
+                case "PlayerCommand": {
+                    proxy.getEventManager().fire(new PlayerCommandEvent(in.readUTF(), in.readUTF())).thenAccept(e -> {
+                        if (!e.getResult().isAllowed()) return;
+
+                        proxy.getPlayer(e.getPlayer()).ifPresent(player -> proxy.getCommandManager().executeAsync(player, e.getCommand()));
+                    });
+                    break;
+                }
+            }
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * Send a custom message.
+     * Messages bigger than {@link MessageChunker#MAX_FRAGMENT_SIZE} are split in fragments and reassembled by the
+     * receiving PluginMessageChannel.
+     *
+     * @param player  The {@link Player} delivering the message.
+     * @param message The {@link CustomMessage} to deliver.
+     * @return false if the player is not connected to a server.
+     */
+    public boolean sendCustomMessage(@NotNull Player player, @NotNull CustomMessage message) {
+        Objects.requireNonNull(player);
+        Objects.requireNonNull(message);
+
+        Optional<ServerConnection> connection = player.getCurrentServer();
+        if (connection.isEmpty()) return false;
+
+        MessageRouter.send(connection.get(), MessageRouter.encode(message));
+        return true;
+    }
+
+    /**
+     * Send a custom message.
+     *
+     * @param server  The {@link RegisteredServer} target of the message.
+     * @param message The {@link CustomMessage} to deliver.
+     * @return false if the target server doesn't have any player to deliver the message.
+     */
+    public boolean sendCustomMessage(@NotNull RegisteredServer server, @NotNull CustomMessage message) {
+        return sendCustomMessage(server, message, false);
+    }
+
+    /**
+     * Send a custom message.
+     *
+     * @param server  The {@link RegisteredServer} target of the message.
+     * @param message The {@link CustomMessage} to deliver.
+     * @param queue   If the message should be queued until a player joins when the target server is empty.
+     * @return false if the target server doesn't have any player to deliver the message and the message was not queued.
+     */
+    public boolean sendCustomMessage(@NotNull RegisteredServer server, @NotNull CustomMessage message, boolean queue) {
+        Objects.requireNonNull(message);
+        return router.route(server, MessageRouter.encode(message), queue);
+    }
+
+    /**
+     * Send a message encoded with a schema.
+     *
+     * @param server  The {@link RegisteredServer} target of the message.
+     * @param channel The channel of the message.
+     * @param codec   The {@link MessageCodec} of the schema.
+     * @param message The message to encode and deliver.
+     * @param queue   If the message should be queued until a player joins when the target server is empty.
+     * @param <T>     The type of the message.
+     * @return false if the target server doesn't have any player to deliver the message and the message was not queued.
+     */
+    public <T> boolean sendMessage(@NotNull RegisteredServer server, @NotNull String channel, @NotNull MessageCodec<T> codec, @NotNull T message, boolean queue) {
+        Objects.requireNonNull(codec);
+        return sendCustomMessage(server, codec.write(message, new CustomMessage(channel)), queue);
+    }
+
+    /**
+     * Send a custom message to every server. The message is encoded only once.
+     *
+     * @param message The {@link CustomMessage} to deliver.
+     * @param queue   If the message should be queued until a player joins when a server is empty.
+     * @return The number of servers the message has been sent to or queued for.
+     */
+    public int broadcastCustomMessage(@NotNull CustomMessage message, boolean queue) {
+        return router.route(proxy.getAllServers(), message, queue);
+    }
+
+    /**
+     * Run a command on one or more servers.
+     * If a target server is empty the command is queued until a player joins it.
+     *
+     * @param server  The name of the server where the command should run, as defined in Velocity velocity.toml,
+     *                ALL to run in every server.
+     * @param command The command to run.
+     */
+    public void consoleCommand(@NotNull String server, @NotNull String command) {
+        CustomMessage message = new CustomMessage("mbcore:default");
+        message.writeUTF("ConsoleCommand");
+        message.writeUTF(server);
+        message.writeUTF(command);
+
+        if (server.equals("ALL")) {
+            broadcastCustomMessage(message, true);
+        } else {
+            proxy.getServer(server).ifPresent(s -> sendCustomMessage(s, message, true));
+        }
+    }
+
+    /**
+     * Run a command on a backend server as a player.
+     *
+     * @param player  The {@link Player} that run the command.
+     * @param command The command to run.
+     */
+    public void playerCommand(@NotNull Player player, @NotNull String command) {
+        CustomMessage message = new CustomMessage("mbcore:default");
+        message.writeUTF("PlayerCommand");
+        message.writeUTF(player.getUsername());
+        message.writeUTF(command);
+
+        sendCustomMessage(player, message);
+    }
+
+    /**
+     * Run a command on a backend server as a player.
+     *
+     * @param player  The name of the player that run the command.
+     * @param command The command to run.
+     */
+    public void playerCommand(@NotNull String player, @NotNull String command) {
+        proxy.getPlayer(player).ifPresent(p -> playerCommand(p, command));
+    }
+}
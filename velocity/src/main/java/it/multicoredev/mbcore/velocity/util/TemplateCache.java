@@ -0,0 +1,239 @@
+package it.multicoredev.mbcore.velocity.util;
+
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * BSD 3-Clause License
+ * <p>
+ * Copyright (c) 2016 - 2023, Lorenzo Magni
+ * <p>
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * <p>
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ * <p>
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * <p>
+ * 3. Neither the name of the copyright holder nor the names of its
+ * contributors may be used to endorse or promote products derived from
+ * this software without specific prior written permission.
+ * <p>
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY,
+ * OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+public class TemplateCache<V> {
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+    private final int maximumSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Bounded cache of values computed from a text, keyed by the template and by the identity of the {@link TagResolver}
+     * used to compute them. The cache is split in segments with independent locks, every segment evicts its least recently
+     * used entries once full.
+     *
+     * @param maximumSize The maximum number of cached values.
+     */
+    @SuppressWarnings("unchecked")
+    public TemplateCache(int maximumSize) {
+        if (maximumSize < 1) throw new IllegalArgumentException("Maximum size must be at least 1");
+        this.maximumSize = maximumSize;
+
+        int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+        int capacity = maximumSize / count;
+        int remainder = maximumSize % count;
+
+        segments = (Segment[]) new TemplateCache.Segment[count];
+        for (int i = 0; i < count; i++) segments[i] = new Segment(i < remainder ? capacity + 1 : capacity);
+    }
+
+    /**
+     * Bounded cache of values computed from a text with a maximum size of {@link #DEFAULT_MAXIMUM_SIZE}.
+     */
+    public TemplateCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Get a cached value or compute it with the loader and cache it.
+     *
+     * @param template The text the value is computed from.
+     * @param resolver The {@link TagResolver} used to compute the value, compared by identity.
+     * @param loader   The function that computes the value on a cache miss.
+     * @return The cached or computed value.
+     */
+    public V get(@NotNull String template, @Nullable TagResolver resolver, @NotNull BiFunction<String, TagResolver, V> loader) {
+        Objects.requireNonNull(template);
+        Objects.requireNonNull(loader);
+
+        Key key = new Key(template, resolver);
+        Segment segment = segmentFor(key.hash);
+
+        V value;
+        synchronized (segment) {
+            value = segment.get(key);
+        }
+
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = loader.apply(template, resolver);
+        if (value == null) return null;
+
+        synchronized (segment) {
+            V existing = segment.putIfAbsent(key, value);
+            if (existing != null) value = existing;
+        }
+
+        return value;
+    }
+
+    /**
+     * Remove all the cached values of a resolver.
+     *
+     * @param resolver The {@link TagResolver} whose values should be removed.
+     */
+    public void invalidate(@Nullable TagResolver resolver) {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.keySet().removeIf(key -> key.resolver == resolver);
+            }
+        }
+    }
+
+    /**
+     * Remove all the cached values.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Get the number of cached values.
+     *
+     * @return The number of cached values.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Get the ratio between the lookups that found a cached value and the total lookups.
+     *
+     * @return The hit rate between 0 and 1, or 0 if the cache has never been used.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Reset the hit, miss and eviction counters.
+     */
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static final class Key {
+        private final String template;
+        private final TagResolver resolver;
+        private final int hash;
+
+        private Key(String template, TagResolver resolver) {
+            this.template = template;
+            this.resolver = resolver;
+            this.hash = 31 * template.hashCode() + System.identityHashCode(resolver);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            Key key = (Key) o;
+            return resolver == key.resolver && template.equals(key.template);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final class Segment extends LinkedHashMap<Key, V> {
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, V> eldest) {
+            if (size() <= capacity) return false;
+
+            evictions.increment();
+            return true;
+        }
+    }
+}